@@ -0,0 +1,369 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * In-memory B+tree with the same public surface as RedBlackTree.
+ * Each node holds up to `order` keys in one array, so a lookup touches a
+ * handful of wide nodes instead of one Node per level. Values live only in
+ * the leaves, which are linked left to right, so in-order traversal and
+ * range scans read the leaves sequentially. Equal values are kept (like
+ * RedBlackTree, duplicates go after existing equal values).
+ */
+public class BPlusTree<T extends Comparable<T>> implements Iterable<T> {
+    public static final int DEFAULT_ORDER = 64;
+
+    private final int order; // Maximum keys per node
+    private Node root;
+    private Leaf firstLeaf;
+    private Leaf lastLeaf;
+    private int size;
+
+    public BPlusTree() {
+        this(DEFAULT_ORDER);
+    }
+
+    /** @param order Maximum keys per node; 32 to 128 suits typical cache lines and key sizes */
+    public BPlusTree(int order) {
+        if (order < 3)
+            throw new IllegalArgumentException("order must be at least 3: " + order);
+        this.order = order;
+        clear();
+    }
+
+    /**
+     * Inserts a value into its leaf, splitting full nodes on the way back up.
+     * The descent remembers its path, so nodes need no parent pointers.
+     */
+    public void insert(T value) {
+        Inner[] path = new Inner[height()];
+        int[] slots = new int[path.length];
+        Node node = root;
+        for (int depth = 0; node instanceof Inner; depth++) {
+            Inner inner = (Inner) node;
+            int slot = upperBound(inner.keys, inner.count, value);
+            path[depth] = inner;
+            slots[depth] = slot;
+            node = inner.children[slot];
+        }
+
+        Leaf leaf = (Leaf) node;
+        int position = upperBound(leaf.keys, leaf.count, value);
+        size++;
+        if (leaf.count < order) {
+            leaf.insertAt(position, value);
+            return;
+        }
+
+        // Split the full leaf and push its right half's first key up the path
+        Leaf right = leaf.split();
+        if (position <= leaf.count)
+            leaf.insertAt(position, value);
+        else
+            right.insertAt(position - leaf.count, value);
+        if (lastLeaf == leaf)
+            lastLeaf = right;
+
+        Object separator = right.keys[0];
+        Node newChild = right;
+        for (int depth = path.length - 1; depth >= 0; depth--) {
+            Inner parent = path[depth];
+            int slot = slots[depth];
+            if (parent.count < order) {
+                parent.insertAt(slot, separator, newChild);
+                return;
+            }
+
+            Inner sibling = parent.split();
+            Object promoted = parent.keys[parent.count]; // Moves up rather than staying in either half
+            parent.keys[parent.count] = null;
+            if (slot <= parent.count) {
+                parent.insertAt(slot, separator, newChild);
+            } else {
+                sibling.insertAt(slot - parent.count - 1, separator, newChild);
+            }
+            separator = promoted;
+            newChild = sibling;
+        }
+
+        // The root itself split
+        Inner newRoot = new Inner(order);
+        newRoot.keys[0] = separator;
+        newRoot.children[0] = root;
+        newRoot.children[1] = newChild;
+        newRoot.count = 1;
+        root = newRoot;
+    }
+
+    /** @return true if an equal value is stored in the tree */
+    public boolean contains(T value) {
+        Leaf leaf = firstLeafFor(value);
+        int position = lowerBound(leaf.keys, leaf.count, value);
+        if (position == leaf.count) {
+            // Every key in this leaf is smaller; the next leaf may start with value
+            leaf = leaf.next;
+            position = 0;
+        }
+        return leaf != null && leaf.count > position && compare(leaf.keys[position], value) == 0;
+    }
+
+    /** @return The smallest value, or null if the tree is empty */
+    public T findMinimum() {
+        return (size == 0) ? null : key(firstLeaf.keys[0]);
+    }
+
+    /** @return The largest value, or null if the tree is empty */
+    public T findMaximum() {
+        return (size == 0) ? null : key(lastLeaf.keys[lastLeaf.count - 1]);
+    }
+
+    /** @return The number of values stored, in O(1) */
+    public int countNodes() {
+        return size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Leaf leaf = new Leaf(order);
+        root = leaf;
+        firstLeaf = leaf;
+        lastLeaf = leaf;
+        size = 0;
+    }
+
+    /** @return The number of inner levels above the leaves */
+    private int height() {
+        int height = 0;
+        for (Node node = root; node instanceof Inner; node = ((Inner) node).children[0])
+            height++;
+        return height;
+    }
+
+    /**
+     * Visits the values in [lo, hi] in ascending order: one descent to the
+     * leaf holding lo, then a sequential walk along the leaf chain.
+     */
+    public void forEachInRange(T lo, T hi, Consumer<? super T> action) {
+        Leaf leaf = firstLeafFor(lo);
+        int position = lowerBound(leaf.keys, leaf.count, lo);
+        while (leaf != null) {
+            for (; position < leaf.count; position++) {
+                T value = key(leaf.keys[position]);
+                if (value.compareTo(hi) > 0)
+                    return;
+                action.accept(value);
+            }
+            leaf = leaf.next;
+            position = 0;
+        }
+    }
+
+    /** @return The leftmost leaf that can hold value */
+    private Leaf firstLeafFor(T value) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[lowerBound(inner.keys, inner.count, value)];
+        }
+        return (Leaf) node;
+    }
+
+    /** @return The first index in keys[0..count) whose key is >= value */
+    private int lowerBound(Object[] keys, int count, T value) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(keys[mid], value) < 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /** @return The first index in keys[0..count) whose key is > value */
+    private int upperBound(Object[] keys, int count, T value) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(keys[mid], value) <= 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    private int compare(Object key, T value) {
+        return key(key).compareTo(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T key(Object key) {
+        return (T) key;
+    }
+
+    /////////////// Traversals //////////////////////////////////////
+
+    /** Traverse the tree in-order by walking the leaf chain. */
+    public void inOrderTraversal() {
+        for (T value : this)
+            System.out.println(value);
+    }
+
+    /** Prints each node (its keys) before its children. */
+    public void preOrderTraversal() {
+        recPreOrderTraversal(root);
+    }
+
+    /** Prints each node (its keys) after its children. */
+    public void postOrderTraversal() {
+        recPostOrderTraversal(root);
+    }
+
+    private void recPreOrderTraversal(Node node) {
+        processNode(node);
+        if (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            for (int i = 0; i <= inner.count; i++)
+                recPreOrderTraversal(inner.children[i]);
+        }
+    }
+
+    private void recPostOrderTraversal(Node node) {
+        if (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            for (int i = 0; i <= inner.count; i++)
+                recPostOrderTraversal(inner.children[i]);
+        }
+        processNode(node);
+    }
+
+    /** Process a node - here we print it. */
+    private void processNode(Node node) {
+        System.out.println(node.toString());
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Leaf leaf = firstLeaf;
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                while (leaf != null && position == leaf.count) {
+                    leaf = leaf.next;
+                    position = 0;
+                }
+                return leaf != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return key(leaf.keys[position++]);
+            }
+        };
+    }
+
+    /////////////////////////////////////////////////////////////////
+    /** Node holds up to `order` sorted keys in a single array. */
+    private abstract static class Node {
+        final Object[] keys;
+        int count;
+
+        Node(int capacity) {
+            keys = new Object[capacity];
+        }
+
+        /** @return The keys in use, for printing */
+        Object[] usedKeys() {
+            return Arrays.copyOf(keys, count);
+        }
+    }
+
+    /** Leaf: the stored values, plus a link to the next leaf in key order. */
+    private static final class Leaf extends Node {
+        Leaf next;
+
+        Leaf(int order) {
+            super(order);
+        }
+
+        void insertAt(int position, Object value) {
+            System.arraycopy(keys, position, keys, position + 1, count - position);
+            keys[position] = value;
+            count++;
+        }
+
+        /** Moves the upper half of this full leaf into a new leaf linked after it. */
+        Leaf split() {
+            Leaf right = new Leaf(keys.length);
+            int keep = (count + 1) / 2;
+            right.count = count - keep;
+            System.arraycopy(keys, keep, right.keys, 0, right.count);
+            Arrays.fill(keys, keep, count, null);
+            count = keep;
+
+            right.next = next;
+            next = right;
+            return right;
+        }
+
+        @Override
+        public String toString() {
+            return "Leaf [keys=" + Arrays.toString(usedKeys()) + "]";
+        }
+    }
+
+    /** Inner node: count separator keys and count + 1 children. */
+    private static final class Inner extends Node {
+        final Node[] children;
+
+        Inner(int order) {
+            super(order);
+            children = new Node[order + 1];
+        }
+
+        /** Inserts key at slot with child to its right. */
+        void insertAt(int slot, Object key, Node child) {
+            System.arraycopy(keys, slot, keys, slot + 1, count - slot);
+            System.arraycopy(children, slot + 1, children, slot + 2, count - slot);
+            keys[slot] = key;
+            children[slot + 1] = child;
+            count++;
+        }
+
+        /**
+         * Moves the keys above the middle, and their children, into a new
+         * node. The middle key is left in keys[count] for the caller to
+         * promote to the parent.
+         */
+        Inner split() {
+            Inner right = new Inner(keys.length);
+            int keep = count / 2;
+            right.count = count - keep - 1;
+            System.arraycopy(keys, keep + 1, right.keys, 0, right.count);
+            System.arraycopy(children, keep + 1, right.children, 0, right.count + 1);
+            Arrays.fill(keys, keep + 1, count, null);
+            Arrays.fill(children, keep + 1, count + 1, null);
+            count = keep;
+            return right;
+        }
+
+        @Override
+        public String toString() {
+            return "Inner [keys=" + Arrays.toString(usedKeys()) + "]";
+        }
+    }
+}
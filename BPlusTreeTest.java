@@ -0,0 +1,84 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BPlusTreeTest {
+
+    private static List<Integer> toList(BPlusTree<Integer> tree) {
+        List<Integer> values = new ArrayList<Integer>();
+        for (Integer value : tree)
+            values.add(value);
+        return values;
+    }
+
+    @Test
+    public void testEmpty() {
+        BPlusTree<Integer> tree = new BPlusTree<Integer>();
+        assertEquals(0, tree.countNodes());
+        assertNull(tree.findMinimum());
+        assertNull(tree.findMaximum());
+        assertFalse(tree.contains(1));
+        assertEquals(Collections.emptyList(), toList(tree));
+    }
+
+    @Test
+    public void testInsertMatchesSortedList() {
+        // A small order forces many splits at every level
+        for (int order : new int[] { 3, 4, 5, 64 }) {
+            BPlusTree<Integer> tree = new BPlusTree<Integer>(order);
+            List<Integer> expected = new ArrayList<Integer>();
+            Random random = new Random(order);
+            for (int i = 0; i < 5000; i++) {
+                int v = random.nextInt(2000); // Plenty of duplicates
+                tree.insert(v);
+                expected.add(v);
+            }
+            Collections.sort(expected);
+
+            assertEquals(expected, toList(tree));
+            assertEquals(5000, tree.countNodes());
+            assertEquals(expected.get(0), tree.findMinimum());
+            assertEquals(expected.get(expected.size() - 1), tree.findMaximum());
+            for (int probe = -1; probe <= 2001; probe++)
+                assertEquals(expected.contains(probe), tree.contains(probe));
+        }
+    }
+
+    @Test
+    public void testSortedAndReverseInserts() {
+        BPlusTree<Integer> ascending = new BPlusTree<Integer>(4);
+        BPlusTree<Integer> descending = new BPlusTree<Integer>(4);
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            ascending.insert(i);
+            descending.insert(999 - i);
+            expected.add(i);
+        }
+        assertEquals(expected, toList(ascending));
+        assertEquals(expected, toList(descending));
+    }
+
+    @Test
+    public void testForEachInRange() {
+        BPlusTree<Integer> tree = new BPlusTree<Integer>(4);
+        for (int i = 0; i < 100; i++) {
+            tree.insert(i * 2);
+            tree.insert(i * 2); // Duplicates span leaf boundaries
+        }
+
+        List<Integer> visited = new ArrayList<Integer>();
+        tree.forEachInRange(9, 14, visited::add);
+        assertEquals(List.of(10, 10, 12, 12, 14, 14), visited);
+
+        visited.clear();
+        tree.forEachInRange(500, 600, visited::add);
+        assertEquals(Collections.emptyList(), visited);
+    }
+}
@@ -2,6 +2,8 @@
 // L00172671
 // Updated: 11-11-2025
 
+import java.util.function.Consumer;
+
 /**
  * Generic Binary Search Tree with simple Red-Black insertion support.
  * T must implement Comparable so we can order nodes.
@@ -153,58 +155,121 @@ public class BinarySearchTree<T extends Comparable<T>> {
         return node.parent.parent.right;
     }
 
+    /*
+     * The traversals below walk the parent pointers instead of recursing.
+     * Sorted inserts or root rotations can leave this tree n levels deep, which
+     * would overflow the call stack; a parent-pointer walk needs no stack and
+     * allocates nothing per node at any depth.
+     */
+
     /**
      * Should traverse the tree "in-order." Useful for viewer layout.
      */
     public void inOrderTraversal() {
-        recInOrderTraversal(root);
+        for (Node node = inOrderFirst(root); node != null; node = inOrderNext(node))
+            processNode(node);
     }
 
     public void preOrderTraversal() {
-        recPreOrderTraversal(root);
+        for (Node node = root; node != null; node = preOrderNext(node))
+            processNode(node);
     }
 
     public void postOrderTraversal() {
-        recPostOrderTraversal(root);
+        for (Node node = postOrderFirst(root); node != null; node = postOrderNext(node))
+            processNode(node);
     }
 
     /**
-     * Private recursive in-order traversal helper.
+     * Passes each value to action in ascending order.
      */
-    private void recInOrderTraversal(Node subTreeRoot) {
-        if (subTreeRoot == null)
-            return;
+    public void inOrderTraversal(Consumer<? super T> action) {
+        for (Node node = inOrderFirst(root); node != null; node = inOrderNext(node))
+            action.accept(node.value);
+    }
 
-        // Traverse the left subtree
-        recInOrderTraversal(subTreeRoot.left);
+    /**
+     * Passes each value to action, parents before their children.
+     */
+    public void preOrderTraversal(Consumer<? super T> action) {
+        for (Node node = root; node != null; node = preOrderNext(node))
+            action.accept(node.value);
+    }
 
-        // Process the current node
-        processNode(subTreeRoot);
+    /**
+     * Passes each value to action, children before their parents.
+     */
+    public void postOrderTraversal(Consumer<? super T> action) {
+        for (Node node = postOrderFirst(root); node != null; node = postOrderNext(node))
+            action.accept(node.value);
+    }
 
-        // Traverse the right subtree
-        recInOrderTraversal(subTreeRoot.right);
+    /**
+     * First node in-order: the leftmost node, or null for an empty tree.
+     */
+    private Node inOrderFirst(Node subTreeRoot) {
+        return (subTreeRoot == null) ? null : minNode(subTreeRoot);
     }
 
     /**
-     * Private recursive pre-order traversal helper.
+     * Next node in-order: the leftmost node of the right subtree, or else the
+     * first ancestor reached from its left.
      */
-    private void recPreOrderTraversal(Node subTreeRoot) {
-        if (subTreeRoot == null)
-            return;
-        processNode(subTreeRoot);
-        recPreOrderTraversal(subTreeRoot.left);
-        recPreOrderTraversal(subTreeRoot.right);
+    private Node inOrderNext(Node node) {
+        if (node.right != null)
+            return minNode(node.right);
+
+        Node parent = node.parent;
+        while (parent != null && node == parent.right) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
     }
 
     /**
-     * Private recursive post-order traversal helper.
+     * Next node in pre-order: a child if there is one, or else the right
+     * child of the nearest ancestor reached from its left that has one.
      */
-    private void recPostOrderTraversal(Node subTreeRoot) {
-        if (subTreeRoot == null)
-            return;
-        recPostOrderTraversal(subTreeRoot.left);
-        recPostOrderTraversal(subTreeRoot.right);
-        processNode(subTreeRoot);
+    private Node preOrderNext(Node node) {
+        if (node.left != null)
+            return node.left;
+        if (node.right != null)
+            return node.right;
+
+        Node parent = node.parent;
+        while (parent != null && (node == parent.right || parent.right == null)) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return (parent == null) ? null : parent.right;
+    }
+
+    /**
+     * First node in post-order: the leaf reached by going left where possible, else right.
+     */
+    private Node postOrderFirst(Node subTreeRoot) {
+        Node node = subTreeRoot;
+        while (node != null) {
+            if (node.left != null)
+                node = node.left;
+            else if (node.right != null)
+                node = node.right;
+            else
+                return node;
+        }
+        return null;
+    }
+
+    /**
+     * Next node in post-order: the parent, unless node is a left child with
+     * a right sibling, whose subtree comes first.
+     */
+    private Node postOrderNext(Node node) {
+        Node parent = node.parent;
+        if (parent != null && node == parent.left && parent.right != null)
+            return postOrderFirst(parent.right);
+        return parent;
     }
 
     private void processNode(Node currNode) {
@@ -215,13 +280,10 @@ public class BinarySearchTree<T extends Comparable<T>> {
      * Return the number of nodes in the tree.
      */
     public int countNodes() {
-        return recCountNodes(root);
-    }
-
-    private int recCountNodes(Node subTreeRoot) {
-        if (subTreeRoot == null)
-            return 0;
-        return 1 + recCountNodes(subTreeRoot.left) + recCountNodes(subTreeRoot.right);
+        int count = 0;
+        for (Node node = inOrderFirst(root); node != null; node = inOrderNext(node))
+            count++;
+        return count;
     }
 
     /////////////////////////////////////////////////////////////////
@@ -281,9 +343,303 @@ public class BinarySearchTree<T extends Comparable<T>> {
         return recFindMinimum(subTreeRoot.left);
     }
 
-    // Placeholder method (left unimplemented in original)
+    /**
+     * Finds the node holding the integer `i` in a tree of Integers.
+     *
+     * @param i The value to look for
+     * @return The matching node's description, or null if `i` is not in the tree
+     * @throws ClassCastException if the tree does not hold Integers
+     */
+    @SuppressWarnings("unchecked")
     public String find(int i) {
-        throw new UnsupportedOperationException("Unimplemented method 'find'");
+        Node node = findNode((T) Integer.valueOf(i));
+        return (node == null) ? null : node.toString();
+    }
+
+    /////////////// Search //////////////////////////////////////////
+    // All lookups are iterative descents from the root and allocate nothing.
+
+    /**
+     * Returns true if a value equal to `value` is stored in the tree.
+     */
+    public boolean contains(T value) {
+        return findNode(value) != null;
+    }
+
+    /**
+     * Returns the stored value equal to `value`, or null if there is none.
+     */
+    public T get(T value) {
+        return valueOf(findNode(value));
+    }
+
+    /**
+     * Returns the greatest value less than or equal to `value`, or null.
+     */
+    public T floor(T value) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            int cmp = value.compareTo(current.value);
+            if (cmp == 0)
+                return current.value;
+            if (cmp < 0) {
+                current = current.left;
+            } else {
+                best = current; // Candidate; look right for a closer one
+                current = current.right;
+            }
+        }
+        return valueOf(best);
+    }
+
+    /**
+     * Returns the least value greater than or equal to `value`, or null.
+     */
+    public T ceiling(T value) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            int cmp = value.compareTo(current.value);
+            if (cmp == 0)
+                return current.value;
+            if (cmp > 0) {
+                current = current.right;
+            } else {
+                best = current; // Candidate; look left for a closer one
+                current = current.left;
+            }
+        }
+        return valueOf(best);
+    }
+
+    /**
+     * Returns the greatest value strictly less than `value`, or null.
+     */
+    public T lower(T value) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            if (value.compareTo(current.value) <= 0) {
+                current = current.left;
+            } else {
+                best = current;
+                current = current.right;
+            }
+        }
+        return valueOf(best);
+    }
+
+    /**
+     * Returns the least value strictly greater than `value`, or null.
+     */
+    public T higher(T value) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            if (value.compareTo(current.value) >= 0) {
+                current = current.right;
+            } else {
+                best = current;
+                current = current.left;
+            }
+        }
+        return valueOf(best);
+    }
+
+    private T valueOf(Node node) {
+        return (node == null) ? null : node.value;
+    }
+
+    /////////////// Removal /////////////////////////////////////////
+
+    /**
+     * Removes one occurrence of `value` from the tree.
+     * - Locates the node with an iterative BST search.
+     * - Deletes it and repairs any double-black deficit.
+     *
+     * @param value The value to remove
+     * @return true if a node was removed, false if the value was not present
+     */
+    public boolean remove(T value) {
+        Node node = findNode(value);
+        if (node == null)
+            return false;
+
+        deleteNode(node);
+        return true;
+    }
+
+    /**
+     * Removes and returns the smallest value, or null if the tree is empty.
+     */
+    public T pollFirst() {
+        if (root == null)
+            return null;
+
+        Node node = minNode(root);
+        T value = node.value;
+        deleteNode(node);
+        return value;
+    }
+
+    /**
+     * Removes and returns the largest value, or null if the tree is empty.
+     */
+    public T pollLast() {
+        if (root == null)
+            return null;
+
+        Node node = maxNode(root);
+        T value = node.value;
+        deleteNode(node);
+        return value;
+    }
+
+    /**
+     * Iterative search for a node holding a value equal to `value`.
+     */
+    private Node findNode(T value) {
+        Node current = root;
+        while (current != null) {
+            int cmp = value.compareTo(current.value);
+            if (cmp == 0)
+                return current;
+            current = (cmp < 0) ? current.left : current.right;
+        }
+        return null;
+    }
+
+    private Node minNode(Node subTreeRoot) {
+        while (subTreeRoot.left != null)
+            subTreeRoot = subTreeRoot.left;
+        return subTreeRoot;
+    }
+
+    private Node maxNode(Node subTreeRoot) {
+        while (subTreeRoot.right != null)
+            subTreeRoot = subTreeRoot.right;
+        return subTreeRoot;
+    }
+
+    /**
+     * Deletes `node` from the tree.
+     * - A node with two children takes its in-order successor's value,
+     * and the successor (which has at most one child) is deleted instead.
+     * - A node with one child is black with a red child: splice the child up and
+     * colour it black.
+     * - A black leaf leaves a double-black deficit which is repaired before the
+     * leaf is cut off.
+     * All references held by the removed node are cleared so it can be collected.
+     */
+    private void deleteNode(Node node) {
+        if (node.left != null && node.right != null) {
+            Node successor = minNode(node.right);
+            node.value = successor.value;
+            node = successor;
+        }
+
+        Node child = (node.left != null) ? node.left : node.right;
+        Node parent = node.parent;
+
+        if (child != null) {
+            replaceChild(parent, node, child);
+            child.nodeColourRed = false;
+        } else if (parent == null) {
+            root = null; // Removing the only node
+        } else {
+            if (!node.nodeColourRed)
+                handleDoubleBlack(node);
+
+            if (node.parent.left == node)
+                node.parent.left = null;
+            else
+                node.parent.right = null;
+        }
+
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        node.value = null;
+    }
+
+    /**
+     * Fix-up for red-black properties after removing a black node.
+     * Implements the classic sibling cases:
+     * - red sibling (rotate to get a black sibling)
+     * - black sibling with black children (recolour, move deficit up)
+     * - black sibling with a red near nephew (rotate sibling)
+     * - black sibling with a red far nephew (rotate parent, done)
+     */
+    private void handleDoubleBlack(Node node) {
+        while (node != root && !node.nodeColourRed) {
+            Node parent = node.parent;
+
+            if (node == parent.left) {
+                Node sibling = parent.right;
+
+                if (sibling.nodeColourRed) {
+                    sibling.nodeColourRed = false;
+                    parent.nodeColourRed = true;
+                    rotateSubTreeLeft(parent);
+                    sibling = parent.right;
+                }
+
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.nodeColourRed = true;
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.right)) {
+                        sibling.left.nodeColourRed = false;
+                        sibling.nodeColourRed = true;
+                        rotateSubTreeRight(sibling);
+                        sibling = parent.right;
+                    }
+
+                    sibling.nodeColourRed = parent.nodeColourRed;
+                    parent.nodeColourRed = false;
+                    sibling.right.nodeColourRed = false;
+                    rotateSubTreeLeft(parent);
+                    node = root;
+                }
+            } else {
+                // Mirror image: node is the right child
+                Node sibling = parent.left;
+
+                if (sibling.nodeColourRed) {
+                    sibling.nodeColourRed = false;
+                    parent.nodeColourRed = true;
+                    rotateSubTreeRight(parent);
+                    sibling = parent.left;
+                }
+
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.nodeColourRed = true;
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.left)) {
+                        sibling.right.nodeColourRed = false;
+                        sibling.nodeColourRed = true;
+                        rotateSubTreeLeft(sibling);
+                        sibling = parent.left;
+                    }
+
+                    sibling.nodeColourRed = parent.nodeColourRed;
+                    parent.nodeColourRed = false;
+                    sibling.left.nodeColourRed = false;
+                    rotateSubTreeRight(parent);
+                    node = root;
+                }
+            }
+        }
+        node.nodeColourRed = false;
+    }
+
+    /**
+     * Null-safe colour check (null leaves count as black).
+     */
+    private boolean isRed(Node node) {
+        return node != null && node.nodeColourRed;
     }
 
     /////////////// Rotation helpers ////////////////////////////////
@@ -319,7 +675,7 @@ public class BinarySearchTree<T extends Comparable<T>> {
         node.right = newRoot.left;
         newRoot.left = node;
 
-        newRoot.parent = node.parent; // newRoot takes node’s old parent
+        replaceChild(node.parent, node, newRoot); // newRoot takes node’s old place
         node.parent = newRoot; // node’s new parent is newRoot
 
         // If node’s new right child exists, update its parent reference
@@ -342,11 +698,26 @@ public class BinarySearchTree<T extends Comparable<T>> {
 
         newRoot.right = node;
 
-        newRoot.parent = node.parent;
+        replaceChild(node.parent, node, newRoot);
         node.parent = newRoot;
 
         if (node.left != null)
             node.left.parent = node;
         return newRoot;
     }
+
+    /**
+     * Points `parent`'s link to `oldChild` at `newChild` instead (or the root
+     * when `parent` is null), so rotations below the root stay connected.
+     */
+    private void replaceChild(Node parent, Node oldChild, Node newChild) {
+        if (parent == null) {
+            root = newChild;
+        } else if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
+        }
+        newChild.parent = parent;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,75 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
 public class BinarySearchTreeTest {
+    private static final int[] VALUES = { 40, 32, 37, 34, 26, 29, 18, 20, 10, 49, 60, 70, 80, 75, 55 };
+
+    private static BinarySearchTree<Integer> sampleTree() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<Integer>();
+        for (int v : VALUES)
+            tree.insert(v);
+        return tree;
+    }
+
+    /** Recursive reference walk: order 0 = pre, 1 = in, 2 = post. */
+    private static void walk(BinarySearchTree<Integer>.Node node, int order, List<Integer> out) {
+        if (node == null)
+            return;
+        if (order == 0)
+            out.add(node.value);
+        walk(node.left, order, out);
+        if (order == 1)
+            out.add(node.value);
+        walk(node.right, order, out);
+        if (order == 2)
+            out.add(node.value);
+    }
+
+    private static List<Integer> expected(BinarySearchTree<Integer> tree, int order) {
+        List<Integer> out = new ArrayList<Integer>();
+        walk(tree.root, order, out);
+        return out;
+    }
+
+    /** Links nodes 0..n-1 into a single right spine, as repeated root rotations can leave it. */
+    private static BinarySearchTree<Integer> degenerateTree(int n) {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<Integer>();
+        BinarySearchTree<Integer>.Node last = null;
+        for (int i = 0; i < n; i++) {
+            BinarySearchTree<Integer>.Node node = tree.new Node(i);
+            if (last == null) {
+                tree.root = node;
+            } else {
+                last.right = node;
+                node.parent = last;
+            }
+            last = node;
+        }
+        return tree;
+    }
+
     @Test
     public void testCountNodes() {
-
+        assertEquals(0, new BinarySearchTree<Integer>().countNodes());
+        assertEquals(VALUES.length, sampleTree().countNodes());
+        assertEquals(1_000_000, degenerateTree(1_000_000).countNodes()); // Deep enough to overflow a recursive count
     }
 
     @Test
     public void testFind() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<Integer>();
+        tree.insert(5);
+        tree.insert(3);
 
+        assertEquals("Node [value=3, colour=RED]", tree.find(3));
+        assertNull(tree.find(4));
     }
 
     @Test
@@ -28,7 +89,14 @@ public class BinarySearchTreeTest {
 
     @Test
     public void testInOrderTraversal() {
-
+        BinarySearchTree<Integer> tree = sampleTree();
+        List<Integer> visited = new ArrayList<Integer>();
+        tree.inOrderTraversal(visited::add);
+        assertEquals(expected(tree, 1), visited);
+
+        long[] sum = new long[1];
+        degenerateTree(1_000_000).inOrderTraversal(v -> sum[0] += v);
+        assertEquals(999_999L * 1_000_000 / 2, sum[0]);
     }
 
     @Test
@@ -38,12 +106,28 @@ public class BinarySearchTreeTest {
 
     @Test
     public void testPostOrderTraversal() {
-
+        BinarySearchTree<Integer> tree = sampleTree();
+        List<Integer> visited = new ArrayList<Integer>();
+        tree.postOrderTraversal(visited::add);
+        assertEquals(expected(tree, 2), visited);
+
+        // A right spine is visited bottom-up
+        visited.clear();
+        degenerateTree(1_000_000).postOrderTraversal(visited::add);
+        assertEquals(Integer.valueOf(999_999), visited.get(0));
+        assertEquals(Integer.valueOf(0), visited.get(999_999));
     }
 
     @Test
     public void testPreOrderTraversal() {
-
+        BinarySearchTree<Integer> tree = sampleTree();
+        List<Integer> visited = new ArrayList<Integer>();
+        tree.preOrderTraversal(visited::add);
+        assertEquals(expected(tree, 0), visited);
+
+        visited.clear();
+        new BinarySearchTree<Integer>().preOrderTraversal(visited::add);
+        assertTrue(visited.isEmpty());
     }
 
     @Test
@@ -55,4 +139,62 @@ public class BinarySearchTreeTest {
     public void testRotateRight() {
 
     }
+
+    @Test
+    public void testInsertKeepsEveryNode() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<Integer>();
+        int[] values = { 40, 32, 37, 34, 26, 29, 18, 20, 10, 49, 60, 70, 80, 75, 55 };
+        for (int v : values)
+            tree.insert(v);
+
+        assertEquals(values.length, tree.countNodes());
+        assertEquals(Integer.valueOf(10), tree.findMinimum());
+        assertEquals(Integer.valueOf(80), tree.findMaximum());
+    }
+
+    @Test
+    public void testRemove() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<Integer>();
+        for (int i = 0; i < 200; i++)
+            tree.insert((i * 37) % 200);
+
+        for (int i = 0; i < 200; i += 2)
+            assertTrue(tree.remove(i));
+        assertFalse(tree.remove(0));
+        assertEquals(100, tree.countNodes());
+        assertEquals(Integer.valueOf(1), tree.findMinimum());
+        assertEquals(Integer.valueOf(199), tree.findMaximum());
+    }
+
+    @Test
+    public void testPollFirstAndLast() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<Integer>();
+        assertNull(tree.pollFirst());
+
+        for (int i = 1; i <= 10; i++)
+            tree.insert(i);
+
+        assertEquals(Integer.valueOf(1), tree.pollFirst());
+        assertEquals(Integer.valueOf(10), tree.pollLast());
+        assertEquals(8, tree.countNodes());
+    }
+
+    @Test
+    public void testSearch() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<Integer>();
+        for (int i = 0; i <= 100; i += 10)
+            tree.insert(i);
+
+        assertTrue(tree.contains(30));
+        assertFalse(tree.contains(35));
+        assertEquals(Integer.valueOf(30), tree.get(30));
+        assertNull(tree.get(35));
+        assertEquals(Integer.valueOf(30), tree.floor(35));
+        assertEquals(Integer.valueOf(30), tree.floor(30));
+        assertEquals(Integer.valueOf(40), tree.ceiling(35));
+        assertEquals(Integer.valueOf(20), tree.lower(30));
+        assertEquals(Integer.valueOf(40), tree.higher(30));
+        assertNull(tree.floor(-1));
+        assertNull(tree.higher(100));
+    }
 }
@@ -0,0 +1,216 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe RedBlackTree. Writers take a StampedLock write lock, so they are
+ * serialised; lookups first run without any lock under an optimistic stamp and
+ * only fall back to a read lock if a writer got in while they were walking.
+ */
+public class ConcurrentRedBlackTree<T extends Comparable<T>> {
+    // A red-black tree of n < 2^31 nodes is at most 2*log2(n+1) < 64 levels deep,
+    // so a longer walk means we are looking at a tree mid-rotation
+    private static final int MAX_DEPTH = 64;
+    private static final Object RETRY = new Object();
+
+    private static final int EQUAL = 0;
+    private static final int FLOOR = 1;
+    private static final int CEILING = 2;
+    private static final int LOWER = 3;
+    private static final int HIGHER = 4;
+
+    private final RedBlackTree<T> tree = new RedBlackTree<T>();
+    private final StampedLock lock = new StampedLock();
+
+    /////////////// Writers /////////////////////////////////////////
+
+    public void insert(T value) {
+        long stamp = lock.writeLock();
+        try {
+            tree.insert(value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(T value) {
+        long stamp = lock.writeLock();
+        try {
+            return tree.remove(value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public T pollFirst() {
+        long stamp = lock.writeLock();
+        try {
+            return tree.pollFirst();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public T pollLast() {
+        long stamp = lock.writeLock();
+        try {
+            return tree.pollLast();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            tree.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /////////////// Readers /////////////////////////////////////////
+
+    public boolean contains(T value) {
+        return read(value, EQUAL) != null;
+    }
+
+    /** @return The stored value equal to value, or null */
+    public T get(T value) {
+        return read(value, EQUAL);
+    }
+
+    public T floor(T value) {
+        return read(value, FLOOR);
+    }
+
+    public T ceiling(T value) {
+        return read(value, CEILING);
+    }
+
+    public T lower(T value) {
+        return read(value, LOWER);
+    }
+
+    public T higher(T value) {
+        return read(value, HIGHER);
+    }
+
+    /** @return The number of values, read in O(1) */
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = tree.size();
+        if (lock.validate(stamp))
+            return size;
+
+        stamp = lock.readLock();
+        try {
+            return tree.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int countNodes() {
+        return size();
+    }
+
+    /** Visits every value in order while holding the read lock. */
+    public void forEach(Consumer<? super T> action) {
+        long stamp = lock.readLock();
+        try {
+            for (T value : tree)
+                action.accept(value);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a lookup optimistically, keeping its result only if no writer
+     * started since the stamp was taken; otherwise repeats it under the read lock.
+     */
+    @SuppressWarnings("unchecked")
+    private T read(T value, int mode) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                Object result = descend(value, mode);
+                if (result != RETRY && lock.validate(stamp))
+                    return (T) result;
+            } catch (RuntimeException e) {
+                // Saw a half-updated tree (e.g. a null link mid-rotation); retry under the lock
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return (T) descend(value, mode);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * One allocation-free walk from the root for all lookup kinds. Under an
+     * optimistic stamp the tree may be changing, so the walk gives up with
+     * RETRY on anything that cannot happen in a stable tree.
+     */
+    private Object descend(T value, int mode) {
+        RedBlackTree<T>.Node current = tree.root;
+        T best = null;
+
+        for (int depth = 0; current != null; depth++) {
+            T nodeValue = current.value;
+            if (depth > MAX_DEPTH || nodeValue == null)
+                return RETRY;
+
+            int cmp = value.compareTo(nodeValue);
+            switch (mode) {
+                case EQUAL:
+                    if (cmp == 0)
+                        return nodeValue;
+                    current = (cmp < 0) ? current.left : current.right;
+                    break;
+                case FLOOR:
+                    if (cmp == 0)
+                        return nodeValue;
+                    if (cmp < 0) {
+                        current = current.left;
+                    } else {
+                        best = nodeValue;
+                        current = current.right;
+                    }
+                    break;
+                case CEILING:
+                    if (cmp == 0)
+                        return nodeValue;
+                    if (cmp > 0) {
+                        current = current.right;
+                    } else {
+                        best = nodeValue;
+                        current = current.left;
+                    }
+                    break;
+                case LOWER:
+                    if (cmp <= 0) {
+                        current = current.left;
+                    } else {
+                        best = nodeValue;
+                        current = current.right;
+                    }
+                    break;
+                default: // HIGHER
+                    if (cmp >= 0) {
+                        current = current.right;
+                    } else {
+                        best = nodeValue;
+                        current = current.left;
+                    }
+                    break;
+            }
+        }
+        return best;
+    }
+}
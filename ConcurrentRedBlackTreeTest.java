@@ -0,0 +1,79 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class ConcurrentRedBlackTreeTest {
+
+    @Test
+    public void testSingleThreaded() {
+        ConcurrentRedBlackTree<Integer> tree = new ConcurrentRedBlackTree<Integer>();
+        for (int i = 0; i < 100; i += 10)
+            tree.insert(i);
+
+        assertEquals(10, tree.size());
+        assertTrue(tree.contains(50));
+        assertFalse(tree.contains(55));
+        assertEquals(Integer.valueOf(50), tree.floor(55));
+        assertEquals(Integer.valueOf(60), tree.ceiling(55));
+        assertEquals(Integer.valueOf(40), tree.lower(50));
+        assertEquals(Integer.valueOf(60), tree.higher(50));
+        assertNull(tree.higher(90));
+
+        assertTrue(tree.remove(50));
+        assertEquals(Integer.valueOf(0), tree.pollFirst());
+        assertEquals(Integer.valueOf(90), tree.pollLast());
+        assertEquals(7, tree.size());
+    }
+
+    @Test
+    public void testReadersDuringWrites() throws InterruptedException {
+        final ConcurrentRedBlackTree<Integer> tree = new ConcurrentRedBlackTree<Integer>();
+        // Even numbers are present throughout; odd numbers churn
+        for (int i = 0; i < 2000; i += 2)
+            tree.insert(i);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> readers = new ArrayList<Thread>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        for (int i = 0; i < 2000; i += 2) {
+                            if (!tree.contains(i))
+                                throw new AssertionError("missing " + i);
+                            Integer floor = tree.floor(i + 1);
+                            if (floor == null || floor < i)
+                                throw new AssertionError("bad floor for " + (i + 1) + ": " + floor);
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 1; i < 2000; i += 2)
+                tree.insert(i);
+            for (int i = 1; i < 2000; i += 2)
+                tree.remove(i);
+        }
+        running.set(false);
+        for (Thread reader : readers)
+            reader.join();
+
+        assertNull(failure.get());
+        assertEquals(1000, tree.size());
+    }
+}
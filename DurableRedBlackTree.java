@@ -0,0 +1,424 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * RedBlackTree whose mutations are made durable through an append-only
+ * write-ahead log (WAL). Calls to insert and remove return once their
+ * log record is on disk. Concurrent callers share an fsync: the first one
+ * to need a flush becomes the leader, waits for the group-commit window so
+ * others can join, then writes and forces everything appended so far.
+ *
+ * Recovery loads the last snapshot and replays the WAL on top of it.
+ * checkpoint() writes a new snapshot and truncates the WAL. The WAL header
+ * names the snapshot it follows (by that snapshot's checksum), so a log left
+ * behind by a crash mid-checkpoint is recognised as stale and never replayed
+ * twice.
+ *
+ * WAL layout (big-endian): int magic, int version, int codec id, int base snapshot
+ * checksum (0 for none), then records of
+ *   int payload length, byte op, payload (written by the codec), int CRC32 of op and payload.
+ */
+public class DurableRedBlackTree<T extends Comparable<T>> implements Closeable {
+    static final int WAL_MAGIC = 0x52425457; // "RBTW"
+    static final int WAL_VERSION = 1;
+    private static final int WAL_HEADER_BYTES = 16;
+
+    private static final byte OP_INSERT = 1;
+    private static final byte OP_REMOVE = 2;
+
+    private final RedBlackTree<T> tree;
+    private final KeyCodec<T> codec;
+    private final Path snapshotPath;
+    private final FileChannel wal;
+    private final long groupCommitNanos;
+
+    // Guarded by this: records appended to the tree but not yet handed to a leader
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private ByteArrayOutputStream spare = new ByteArrayOutputStream();
+    private long appendedSeq;
+    private boolean closed;
+
+    // Guarded by commitLock
+    private final Object commitLock = new Object();
+    private long durableSeq;
+    private boolean flushing; // true while a leader (or checkpoint) owns the WAL file
+    private IOException failure; // Once a write fails the log can no longer be trusted
+
+    private DurableRedBlackTree(RedBlackTree<T> tree, KeyCodec<T> codec, Path snapshotPath, FileChannel wal,
+            long groupCommitNanos) {
+        this.tree = tree;
+        this.codec = codec;
+        this.snapshotPath = snapshotPath;
+        this.wal = wal;
+        this.groupCommitNanos = groupCommitNanos;
+    }
+
+    /**
+     * Opens (or creates) a durable tree: loads the snapshot if there is one,
+     * replays the WAL on top, and truncates any torn record left at the end
+     * of the WAL by a crash.
+     * @param groupCommitWindow How long a leader waits for others before forcing
+     *                          the log; 0 flushes as soon as possible
+     */
+    public static <T extends Comparable<T>> DurableRedBlackTree<T> open(Path snapshotPath, Path walPath,
+            KeyCodec<T> codec, long groupCommitWindow, TimeUnit unit) throws IOException {
+        if (groupCommitWindow < 0)
+            throw new IllegalArgumentException("groupCommitWindow must not be negative: " + groupCommitWindow);
+
+        RedBlackTree<T> tree = Files.exists(snapshotPath)
+                ? RedBlackTree.readSnapshot(snapshotPath, codec)
+                : new RedBlackTree<T>();
+
+        FileChannel wal = FileChannel.open(walPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            int base = snapshotChecksum(snapshotPath);
+            if (wal.size() == 0)
+                writeHeader(wal, codec, base);
+            else
+                replay(wal, walPath, tree, codec, base);
+        } catch (IOException | RuntimeException e) {
+            wal.close();
+            throw e;
+        }
+        return new DurableRedBlackTree<T>(tree, codec, snapshotPath, wal, unit.toNanos(groupCommitWindow));
+    }
+
+    /**
+     * Empties the log and starts it again on top of the given snapshot. The
+     * old records are cut off before the new base is written, so a crash in
+     * between leaves an empty log rather than old records under a new base.
+     */
+    private static void writeHeader(FileChannel wal, KeyCodec<?> codec, int baseChecksum) throws IOException {
+        wal.truncate(Math.min(wal.size(), WAL_HEADER_BYTES));
+        wal.force(true);
+
+        ByteBuffer header = ByteBuffer.allocate(WAL_HEADER_BYTES);
+        header.putInt(WAL_MAGIC).putInt(WAL_VERSION).putInt(codec.id()).putInt(baseChecksum).flip();
+        wal.position(0);
+        writeFully(wal, header);
+        wal.force(true);
+    }
+
+    /** @return The CRC32 stored at the end of the snapshot, or 0 if there is no snapshot */
+    private static int snapshotChecksum(Path snapshotPath) throws IOException {
+        if (!Files.exists(snapshotPath))
+            return 0;
+
+        try (FileChannel snapshot = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            ByteBuffer trailer = ByteBuffer.allocate(4);
+            snapshot.position(snapshot.size() - 4);
+            while (trailer.hasRemaining() && snapshot.read(trailer) >= 0) {
+            }
+            return trailer.getInt(0);
+        }
+    }
+
+    /** Applies every intact record and cuts the log off after the last one. */
+    private static <T extends Comparable<T>> void replay(FileChannel wal, Path walPath, RedBlackTree<T> tree,
+            KeyCodec<T> codec, int baseChecksum) throws IOException {
+        long length = wal.size();
+        if (length < WAL_HEADER_BYTES) {
+            // A crash while writing the header; no records can follow it
+            writeHeader(wal, codec, baseChecksum);
+            return;
+        }
+
+        ByteBuffer log = wal.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        if (log.getInt(0) != WAL_MAGIC)
+            throw new IOException("Not a write-ahead log (bad magic): " + walPath);
+        if (log.getInt(4) != WAL_VERSION)
+            throw new IOException("Unsupported write-ahead log version " + log.getInt(4) + ": " + walPath);
+        if (log.getInt(8) != codec.id())
+            throw new IOException("Write-ahead log was written with codec " + log.getInt(8)
+                    + ", not " + codec.id() + ": " + walPath);
+        if (log.getInt(12) != baseChecksum) {
+            // A checkpoint wrote the snapshot but crashed before resetting the log,
+            // so every record here is already in the snapshot
+            writeHeader(wal, codec, baseChecksum);
+            return;
+        }
+
+        CRC32 crc = new CRC32();
+        int position = WAL_HEADER_BYTES;
+        while (true) {
+            // Anything short, oversized or failing its checksum is a torn write
+            if (log.limit() - position < 4)
+                break;
+            int payloadLength = log.getInt(position);
+            if (payloadLength < 0 || payloadLength > log.limit() - position - 9)
+                break;
+
+            ByteBuffer opAndPayload = log.duplicate();
+            opAndPayload.position(position + 4).limit(position + 5 + payloadLength);
+            crc.reset();
+            crc.update(opAndPayload.duplicate());
+            if ((int) crc.getValue() != log.getInt(position + 5 + payloadLength))
+                break;
+
+            byte op = opAndPayload.get();
+            T value;
+            try {
+                value = codec.read(opAndPayload);
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Undecodable record at offset " + position + ": " + walPath, e);
+            }
+            if (opAndPayload.hasRemaining())
+                throw new IOException("Undecodable record at offset " + position + ": " + walPath);
+
+            if (op == OP_INSERT)
+                tree.insert(value);
+            else if (op == OP_REMOVE)
+                tree.remove(value);
+            else
+                throw new IOException("Unknown operation " + op + " at offset " + position + ": " + walPath);
+            position += 9 + payloadLength;
+        }
+
+        if (position < length) {
+            wal.truncate(position);
+            wal.force(true);
+        }
+        wal.position(position);
+    }
+
+    /////////////// Mutations ///////////////////////////////////////
+
+    /** Inserts a value and returns once the insert is in the log on disk. */
+    public void insert(T value) throws IOException {
+        long seq;
+        synchronized (this) {
+            checkOpen();
+            seq = append(OP_INSERT, value);
+            tree.insert(value);
+        }
+        awaitDurable(seq);
+    }
+
+    /**
+     * Removes one occurrence of value. Only a successful removal is logged;
+     * the call returns once that record is on disk.
+     */
+    public boolean remove(T value) throws IOException {
+        long seq;
+        synchronized (this) {
+            checkOpen();
+            if (!tree.contains(value))
+                return false;
+            seq = append(OP_REMOVE, value);
+            tree.remove(value);
+        }
+        awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Encodes a record into the pending buffer. Called with this locked, so
+     * records are logged in exactly the order they are applied to the tree.
+     */
+    private long append(byte op, T value) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(16);
+        codec.write(value, new DataOutputStream(payload));
+        byte[] bytes = payload.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(op);
+        crc.update(bytes);
+
+        DataOutputStream out = new DataOutputStream(pending);
+        out.writeInt(bytes.length);
+        out.writeByte(op);
+        out.write(bytes);
+        out.writeInt((int) crc.getValue());
+        return ++appendedSeq;
+    }
+
+    /////////////// Group commit ////////////////////////////////////
+
+    /**
+     * Blocks until record seq is durable. If no flush is running this thread
+     * leads one; otherwise it waits for the running flush, which may or may
+     * not cover seq, and re-checks.
+     */
+    private void awaitDurable(long seq) throws IOException {
+        synchronized (commitLock) {
+            while (true) {
+                if (failure != null)
+                    throw new IOException("Write-ahead log failed", failure);
+                if (durableSeq >= seq)
+                    return;
+                if (!flushing)
+                    break;
+                waitForCommit();
+            }
+            flushing = true;
+        }
+
+        // Leader: give other writers the window to join this batch
+        if (groupCommitNanos > 0)
+            LockSupport.parkNanos(groupCommitNanos);
+        flush();
+    }
+
+    /** Writes and forces everything pending. Caller must have set flushing. */
+    private void flush() throws IOException {
+        ByteArrayOutputStream batch;
+        long batchSeq;
+        synchronized (this) {
+            batch = pending;
+            batchSeq = appendedSeq;
+            pending = spare;
+            spare = null;
+        }
+
+        IOException error = null;
+        try {
+            writeFully(wal, ByteBuffer.wrap(batch.toByteArray()));
+            wal.force(false);
+        } catch (IOException e) {
+            error = e;
+        }
+
+        batch.reset();
+        synchronized (this) {
+            spare = batch;
+        }
+        finishFlush(batchSeq, error);
+        if (error != null)
+            throw error;
+    }
+
+    private void finishFlush(long batchSeq, IOException error) {
+        synchronized (commitLock) {
+            if (error != null && failure == null)
+                failure = error;
+            else if (error == null)
+                durableSeq = Math.max(durableSeq, batchSeq);
+            flushing = false;
+            commitLock.notifyAll();
+        }
+    }
+
+    /** Waits for any running leader, then takes the flushing role itself. */
+    private void becomeExclusive() throws IOException {
+        synchronized (commitLock) {
+            while (flushing)
+                waitForCommit();
+            if (failure != null)
+                throw new IOException("Write-ahead log failed", failure);
+            flushing = true;
+        }
+    }
+
+    private void waitForCommit() throws IOException {
+        try {
+            commitLock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the write-ahead log", e);
+        }
+    }
+
+    /////////////// Checkpoint and close ////////////////////////////
+
+    /**
+     * Writes a snapshot of the current tree and truncates the WAL back to its
+     * header. Writers block until the snapshot is on disk; records still
+     * pending are covered by the snapshot, so they are dropped rather than
+     * logged.
+     */
+    public void checkpoint() throws IOException {
+        becomeExclusive();
+        long coveredSeq = 0;
+        IOException error = null;
+        try {
+            synchronized (this) {
+                checkOpen();
+                tree.writeSnapshot(snapshotPath, codec);
+                pending.reset();
+                coveredSeq = appendedSeq;
+
+                // The snapshot is durable, so the log can restart on top of it
+                writeHeader(wal, codec, snapshotChecksum(snapshotPath));
+            }
+        } catch (IOException e) {
+            error = e;
+            throw e;
+        } finally {
+            finishFlush(coveredSeq, error);
+        }
+    }
+
+    /**
+     * Flushes anything pending and closes the log. If an earlier write
+     * failed, the log is closed anyway and that failure is rethrown.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failed = null;
+        try {
+            becomeExclusive();
+        } catch (IOException e) {
+            failed = e; // Nothing more can be logged, but the file must still be released
+        }
+
+        synchronized (this) {
+            if (closed) {
+                if (failed == null)
+                    finishFlush(0, null);
+                return;
+            }
+            closed = true;
+        }
+        try {
+            if (failed == null)
+                flush();
+        } finally {
+            wal.close();
+        }
+        if (failed != null)
+            throw failed;
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("DurableRedBlackTree is closed");
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /////////////// Reads ///////////////////////////////////////////
+
+    public synchronized boolean contains(T value) {
+        return tree.contains(value);
+    }
+
+    public synchronized int size() {
+        return tree.size();
+    }
+
+    public synchronized int countNodes() {
+        return tree.countNodes();
+    }
+
+    /** @return The current length of the WAL file in bytes */
+    public long walSize() throws IOException {
+        return wal.size();
+    }
+}
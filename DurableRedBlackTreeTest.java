@@ -0,0 +1,174 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DurableRedBlackTreeTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private Path snapshot;
+    private Path wal;
+
+    @Before
+    public void setUp() {
+        snapshot = temp.getRoot().toPath().resolve("tree.snapshot");
+        wal = temp.getRoot().toPath().resolve("tree.wal");
+    }
+
+    private DurableRedBlackTree<Integer> open() throws IOException {
+        return DurableRedBlackTree.open(snapshot, wal, KeyCodec.INTEGER, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testRecoveryReplaysLog() throws IOException {
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            for (int i = 0; i < 100; i++)
+                tree.insert(i);
+            assertTrue(tree.remove(50));
+            assertFalse(tree.remove(500));
+        }
+
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            assertEquals(99, tree.size());
+            assertTrue(tree.contains(99));
+            assertFalse(tree.contains(50));
+        }
+    }
+
+    @Test
+    public void testConcurrentWritersShareCommits() throws Exception {
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        try (final DurableRedBlackTree<Integer> tree = open()) {
+            List<Thread> writers = new ArrayList<Thread>();
+            for (int w = 0; w < 8; w++) {
+                final int offset = w * 1000;
+                Thread writer = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 200; i++)
+                            tree.insert(offset + i);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                });
+                writers.add(writer);
+                writer.start();
+            }
+            for (Thread writer : writers)
+                writer.join();
+        }
+        assertEquals(null, failure.get());
+
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            assertEquals(1600, tree.size());
+            assertTrue(tree.contains(7199));
+        }
+    }
+
+    @Test
+    public void testTornTailIsTruncated() throws IOException {
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            tree.insert(1);
+            tree.insert(2);
+        }
+        long intact = Files.size(wal);
+        // Half of a record: a length prefix and a few payload bytes
+        Files.write(wal, new byte[] { 0, 0, 0, 4, 1, 0, 0 }, StandardOpenOption.APPEND);
+
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            assertEquals(2, tree.size());
+            assertEquals(intact, tree.walSize());
+            tree.insert(3);
+        }
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            assertEquals(3, tree.size());
+        }
+    }
+
+    @Test
+    public void testCheckpointTruncatesLog() throws IOException {
+        long emptyLog;
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            emptyLog = tree.walSize();
+            for (int i = 0; i < 100; i++)
+                tree.insert(i);
+            assertTrue(tree.walSize() > emptyLog);
+
+            tree.checkpoint();
+            assertEquals(emptyLog, tree.walSize());
+            tree.insert(100);
+        }
+
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            assertEquals(101, tree.size());
+        }
+    }
+
+    @Test
+    public void testStaleLogAfterCheckpointIsNotReplayed() throws IOException {
+        Path oldWal = temp.getRoot().toPath().resolve("old.wal");
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            for (int i = 0; i < 10; i++)
+                tree.insert(i);
+            Files.copy(wal, oldWal);
+            tree.checkpoint();
+        }
+        // As if the checkpoint crashed after the snapshot but before resetting the log
+        Files.copy(oldWal, wal, StandardCopyOption.REPLACE_EXISTING);
+
+        try (DurableRedBlackTree<Integer> tree = open()) {
+            assertEquals(10, tree.size());
+        }
+    }
+
+    @Test
+    public void testCloseAfterWriteFailureReleasesLog() throws Exception {
+        DurableRedBlackTree<Integer> tree = open();
+        tree.insert(1);
+
+        // As if a later flush had failed
+        Field failure = DurableRedBlackTree.class.getDeclaredField("failure");
+        failure.setAccessible(true);
+        failure.set(tree, new IOException("disk full"));
+        Field walField = DurableRedBlackTree.class.getDeclaredField("wal");
+        walField.setAccessible(true);
+        FileChannel channel = (FileChannel) walField.get(tree);
+
+        try {
+            tree.close();
+            fail("close should report the earlier failure");
+        } catch (IOException e) {
+            assertEquals("disk full", e.getCause().getMessage());
+        }
+        assertFalse(channel.isOpen());
+        try {
+            tree.insert(2);
+            fail("insert after close should be rejected");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        tree.close(); // A second close does nothing
+
+        try (DurableRedBlackTree<Integer> reopened = open()) {
+            assertTrue(reopened.contains(1));
+        }
+    }
+}
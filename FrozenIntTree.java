@@ -0,0 +1,84 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.util.Iterator;
+
+/**
+ * FrozenTree over a primitive int[] in Eytzinger order, used by
+ * RedBlackTree.freeze() for Integer keys. Sixteen keys share each cache
+ * line and nothing is boxed, so the int overloads allocate nothing.
+ */
+public final class FrozenIntTree extends FrozenTree<Integer> {
+    private final int[] keys;
+
+    private FrozenIntTree(int[] keys, int size) {
+        super(size);
+        this.keys = keys;
+    }
+
+    /** Builds the frozen form of values, which must be in ascending order. */
+    static FrozenIntTree fromSortedInts(Iterable<Integer> sorted, int size) {
+        int[] keys = new int[size + 1]; // Index 0 is unused
+        fill(keys, 1, sorted.iterator());
+        return new FrozenIntTree(keys, size);
+    }
+
+    private static void fill(int[] keys, int k, Iterator<Integer> sorted) {
+        if (k >= keys.length)
+            return;
+        fill(keys, 2 * k, sorted);
+        keys[k] = sorted.next();
+        fill(keys, 2 * k + 1, sorted);
+    }
+
+    public boolean contains(int value) {
+        int k = ceilingIndex(value);
+        return k != 0 && keys[k] == value;
+    }
+
+    /** @return The greatest stored value <= value, or absent if there is none */
+    public int floor(int value, int absent) {
+        int k = floorIndex(value);
+        return (k == 0) ? absent : keys[k];
+    }
+
+    /** @return The least stored value >= value, or absent if there is none */
+    public int ceiling(int value, int absent) {
+        int k = ceilingIndex(value);
+        return (k == 0) ? absent : keys[k];
+    }
+
+    private int floorIndex(int value) {
+        int[] a = keys;
+        int n = size;
+        int k = 1;
+        while (k <= n)
+            k = 2 * k + (a[k] <= value ? 1 : 0);
+        return lastRightTurn(k);
+    }
+
+    private int ceilingIndex(int value) {
+        int[] a = keys;
+        int n = size;
+        int k = 1;
+        while (k <= n)
+            k = 2 * k + (a[k] < value ? 1 : 0);
+        return lastLeftTurn(k);
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return contains(value.intValue());
+    }
+
+    @Override
+    public Integer floor(Integer value) {
+        int k = floorIndex(value);
+        return (k == 0) ? null : keys[k];
+    }
+
+    @Override
+    public Integer ceiling(Integer value) {
+        int k = ceilingIndex(value);
+        return (k == 0) ? null : keys[k];
+    }
+}
@@ -0,0 +1,102 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.util.Iterator;
+
+/**
+ * Immutable lookup structure built by RedBlackTree.freeze().
+ * The keys sit in one flat array in Eytzinger (breadth-first) order: the
+ * root at index 1 and the children of k at 2k and 2k + 1. A search is a
+ * loop of k = 2k + (a[k] < key), with no pointers to follow and no branch
+ * on the comparison, and the top levels share a few cache lines that stay
+ * hot across lookups.
+ *
+ * The descent records every turn in the bits of k, so the answer is decoded
+ * at the end: shifting off the trailing left turns (and the right turn
+ * before them) gives the last node where the search went right, and
+ * likewise for the last left turn.
+ */
+public abstract class FrozenTree<T extends Comparable<T>> {
+    protected final int size;
+
+    FrozenTree(int size) {
+        this.size = size;
+    }
+
+    /** Builds the frozen form of values, which must be in ascending order. */
+    static <T extends Comparable<T>> FrozenTree<T> fromSorted(Iterable<T> sorted, int size) {
+        Object[] keys = new Object[size + 1]; // Index 0 is unused
+        fill(keys, 1, sorted.iterator());
+        return new ObjectTree<T>(keys, size);
+    }
+
+    /** In-order walk of the implicit tree, placing the next sorted value at each index. */
+    private static void fill(Object[] keys, int k, Iterator<?> sorted) {
+        if (k >= keys.length)
+            return;
+        fill(keys, 2 * k, sorted);
+        keys[k] = sorted.next();
+        fill(keys, 2 * k + 1, sorted);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public abstract boolean contains(T value);
+
+    /** @return The greatest stored value <= value, or null */
+    public abstract T floor(T value);
+
+    /** @return The least stored value >= value, or null */
+    public abstract T ceiling(T value);
+
+    /** @return The index of the last node where a descent ending at k turned right; 0 if none */
+    static int lastRightTurn(int k) {
+        return k >>> (Integer.numberOfTrailingZeros(k) + 1);
+    }
+
+    /** @return The index of the last node where a descent ending at k turned left; 0 if none */
+    static int lastLeftTurn(int k) {
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /////////////////////////////////////////////////////////////////
+    /** Frozen tree of any Comparable keys. */
+    private static final class ObjectTree<T extends Comparable<T>> extends FrozenTree<T> {
+        private final Object[] keys;
+
+        ObjectTree(Object[] keys, int size) {
+            super(size);
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean contains(T value) {
+            T ceiling = ceiling(value);
+            return ceiling != null && ceiling.compareTo(value) == 0;
+        }
+
+        @Override
+        public T floor(T value) {
+            int k = 1;
+            while (k <= size)
+                k = 2 * k + (key(k).compareTo(value) <= 0 ? 1 : 0);
+            k = lastRightTurn(k);
+            return (k == 0) ? null : key(k);
+        }
+
+        @Override
+        public T ceiling(T value) {
+            int k = 1;
+            while (k <= size)
+                k = 2 * k + (key(k).compareTo(value) < 0 ? 1 : 0);
+            k = lastLeftTurn(k);
+            return (k == 0) ? null : key(k);
+        }
+
+        @SuppressWarnings("unchecked")
+        private T key(int k) {
+            return (T) keys[k];
+        }
+    }
+}
@@ -4,10 +4,24 @@
 
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.swing.*;
 import javax.swing.event.*;
 
@@ -22,21 +36,40 @@ public class GraphPanel extends JComponent {
     private static final int WIDE = 640;
     private static final int HIGH = 480;
     private static final int RADIUS = 35;
+    private static final double MIN_SCALE = 1.0 / 256;
+    private static final double MAX_SCALE = 4.0;
+    private static final int MAX_BANNER_CHARS = 200; // Longer banners show only their most recent values
+    private static final Font BANNER_FONT = new Font("TimesRoman", Font.BOLD, 16);
+    private static final long BATCH_SLICE_NANOS = 8_000_000; // Longest the tree lock is held per slice of a batch
     private static final Random rnd = new Random();
     private ControlPanel control = new ControlPanel();
     private int radius = RADIUS;
     private Kind kind = Kind.Circular;
-    private List<DisplayNode> nodes = new ArrayList<DisplayNode>();
-    private List<DisplayNode> selected = new ArrayList<DisplayNode>();
-    private List<Edge> edges = new ArrayList<Edge>();
-    private List<Integer> insertionsInOrder = new ArrayList<Integer>();
+    private NodeGrid grid = new NodeGrid(); // Spatial index over nodes, and the current selection
+    private int maxDragX; // Largest distance any node has been dragged from its layout position
+    private int maxDragY;
+    private int insertionCount; // Values inserted since the last Clear
+    private StringBuilder insertionBanner = new StringBuilder(); // Last MAX_BANNER_CHARS of "v1,v2,..."
+    private boolean bannerTrimmed; // Whether older values have been dropped from insertionBanner
+    private String bannerText; // Cached banner; null when it needs rebuilding
+    private double scale = 1.0; // Zoom factor applied when painting the tree
 
     private Point mousePt = new Point(WIDE / 2, HIGH / 2);
     private Rectangle mouseRect = new Rectangle();
     private boolean selecting = false;
 
+    // Shared with the batch-insert thread. The tree, its layout, the node grid
+    // and the banner are only touched while holding myTree's lock.
     private BinarySearchTreeViewCapable<Integer> myTree = new BinarySearchTreeViewCapable<Integer>();
 
+    // One daemon thread runs batch inserts in submission order
+    private final ExecutorService batchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "GraphPanel batch insert");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile int batchGeneration; // Bumped by Clear (on the EDT) so running and queued batches stop
+
     public static void main(String[] args) throws Exception {
         EventQueue.invokeLater(new Runnable() {
 
@@ -58,39 +91,105 @@ public class GraphPanel extends JComponent {
 
     public GraphPanel() {
         this.setOpaque(true);
-
+        this.addMouseListener(new MouseHandler());
+        this.addMouseMotionListener(new MouseMotionHandler());
     }
 
+    /** Grows with the (zoomed) tree so the scroll pane can reach every node. */
     @Override
     public Dimension getPreferredSize() {
-        return new Dimension(WIDE, HIGH);
+        int totalNodes;
+        int maxHeight;
+        synchronized (myTree) {
+            totalNodes = myTree.totalNodes;
+            maxHeight = myTree.maxHeight;
+        }
+        double width = (totalNodes + 1) * BinarySearchTreeViewCapable.NodeConstants.X_OFFSET * scale;
+        double height = (maxHeight + 3) * BinarySearchTreeViewCapable.NodeConstants.Y_OFFSET * scale;
+        return new Dimension((int) Math.min(Integer.MAX_VALUE, Math.max(WIDE, width)),
+                (int) Math.max(HIGH, height));
+    }
+
+    /** Multiplies the zoom by factor, keeping it within MIN_SCALE..MAX_SCALE. */
+    public void zoom(double factor) {
+        scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        revalidate();
+        repaint();
+    }
+
+    /** Inserts value into the tree and schedules a repaint. Called on the EDT. */
+    void insert(Integer value) {
+        synchronized (myTree) {
+            addToBanner(value);
+
+            myTree.insert(value); // Also updates the layout
+        }
+
+        revalidate(); // The preferred size grows with the tree
+        repaint();
+    }
+
+    /** @return The centre of value's node as last placed, in tree coordinates, or null if absent */
+    Point locationOf(Integer value) {
+        synchronized (myTree) {
+            RedBlackTree<Integer>.Node node = myTree.findNode(value);
+            if (node == null)
+                return null;
+            return new Point(((BinarySearchTreeViewCapable<Integer>.MyNode) node).refToDisplayNode.p);
+        }
+    }
+
+    /** Records an inserted value for the banner. Caller holds myTree's lock. */
+    private void addToBanner(Integer value) {
+        insertionCount++;
+        insertionBanner.append(value).append(',');
+        int excess = insertionBanner.length() - MAX_BANNER_CHARS;
+        if (excess > 0) {
+            insertionBanner.delete(0, excess);
+            bannerTrimmed = true;
+        }
+        bannerText = null;
+    }
+
+    String bannerText() {
+        if (bannerText == null) {
+            bannerText = bannerTrimmed
+                    ? "Insertion Order of Nodes (" + insertionCount + "): ..." + insertionBanner
+                    : "Insertion Order of Nodes: " + insertionBanner;
+        }
+        return bannerText;
     }
 
     @Override
     public void paintComponent(Graphics g) {
 
         // NB:1
-        // We use an inOrderTraversal to find out and populate the
-        // node positions this is an overridden method in the subclass
-        myTree.inOrderTraversal();
+        // computeNodePositions() keeps the layout up to date after each
+        // insert; painting only places and draws the nodes inside the clip
+        // (the visible part of the scroll pane)
 
+        Rectangle clip = g.getClipBounds();
+        if (clip == null)
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
         g.setColor(new Color(0x00f0f0f0));
-        g.fillRect(0, 0, getWidth(), getHeight());
-        for (Edge e : edges) {
-            e.draw(g);
-        }
-        for (DisplayNode n : nodes) {
-            n.draw(g);
-        }
-
-        String nodeDisplayString = "Insertion Order of Nodes: ";
-        for (Integer currNodeVal : insertionsInOrder) {
-            nodeDisplayString += (currNodeVal + ",");
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // A batch insert holds the lock for one short slice at a time
+        String banner;
+        Graphics2D treeGraphics = (Graphics2D) g.create();
+        try {
+            treeGraphics.scale(scale, scale);
+            synchronized (myTree) {
+                myTree.paintTree(treeGraphics, scale);
+                banner = bannerText();
+            }
+        } finally {
+            treeGraphics.dispose();
         }
 
         g.setColor(Color.BLACK);
-        g.setFont(new Font("TimesRoman", Font.BOLD, 16));
-        g.drawString(nodeDisplayString, 5, 20);
+        g.setFont(BANNER_FONT);
+        g.drawString(banner, 5, 20);
 
         // This is not really relevant to Red Black display
         if (selecting) {
@@ -100,6 +199,48 @@ public class GraphPanel extends JComponent {
         }
     }
 
+    /**
+     * Files every node at its current position if the layout has changed
+     * since the last paint or hit-test. Caller holds myTree's lock.
+     */
+    private void prepareGrid() {
+        if (!grid.complete)
+            myTree.placeAll();
+    }
+
+    /** Converts a point on screen to tree coordinates, undoing the zoom. */
+    private Point toTree(Point screen) {
+        return new Point((int) Math.floor(screen.x / scale), (int) Math.floor(screen.y / scale));
+    }
+
+    private class MouseHandler extends MouseAdapter {
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            selecting = false;
+            mouseRect.setBounds(0, 0, 0, 0);
+            e.getComponent().repaint();
+        }
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            mousePt = e.getPoint();
+            Point p = toTree(mousePt);
+            synchronized (myTree) {
+                prepareGrid();
+                if (e.isShiftDown()) {
+                    DisplayNode.selectToggle(grid, p);
+                } else if (DisplayNode.selectOne(grid, p)) {
+                    selecting = false;
+                } else {
+                    DisplayNode.selectNone(grid);
+                    selecting = true;
+                }
+            }
+            e.getComponent().repaint();
+        }
+    }
+
     private class MouseMotionHandler extends MouseMotionAdapter {
 
         Point delta = new Point();
@@ -112,12 +253,25 @@ public class GraphPanel extends JComponent {
                         Math.min(mousePt.y, e.getY()),
                         Math.abs(mousePt.x - e.getX()),
                         Math.abs(mousePt.y - e.getY()));
-                DisplayNode.selectRect(nodes, mouseRect);
+                Point corner = toTree(mouseRect.getLocation());
+                Rectangle area = new Rectangle(corner.x, corner.y,
+                        (int) Math.ceil(mouseRect.width / scale), (int) Math.ceil(mouseRect.height / scale));
+                synchronized (myTree) {
+                    prepareGrid();
+                    DisplayNode.selectRect(grid, area);
+                }
             } else {
                 delta.setLocation(
-                        e.getX() - mousePt.x,
-                        e.getY() - mousePt.y);
-                DisplayNode.updatePosition(nodes, delta);
+                        (int) Math.round((e.getX() - mousePt.x) / scale),
+                        (int) Math.round((e.getY() - mousePt.y) / scale));
+                synchronized (myTree) {
+                    prepareGrid();
+                    DisplayNode.updatePosition(grid, delta);
+                    for (DisplayNode n : grid.selected) {
+                        maxDragX = Math.max(maxDragX, Math.abs(n.dragX));
+                        maxDragY = Math.max(maxDragY, Math.abs(n.dragY));
+                    }
+                }
                 mousePt = e.getPoint();
             }
             e.getComponent().repaint();
@@ -134,8 +288,12 @@ public class GraphPanel extends JComponent {
         private Action kind = new KindComboAction("Kind");
         private JTextField insertValue = new JTextField();
         private Action insert = new InsertAction("Insert", insertValue);
+        private Action batchInsert = new BatchInsertAction("Batch Insert");
+        private Action fileInsert = new FileInsertAction("Insert File");
 
         private JButton newDefaultButton = new JButton(insert);
+        private Action zoomIn = new ZoomAction("Zoom In", 2.0);
+        private Action zoomOut = new ZoomAction("Zoom Out", 0.5);
         private JComboBox<Kind> kindCombo = new JComboBox<Kind>();
 
         ControlPanel() {
@@ -151,6 +309,9 @@ public class GraphPanel extends JComponent {
             insertValue.setColumns(5);
             this.add(insertValue);
 
+            this.add(new JButton(batchInsert));
+            this.add(new JButton(fileInsert));
+
             JMenu subMenu = new JMenu("Kind");
             for (Kind k : Kind.values()) {
                 kindCombo.addItem(k);
@@ -158,6 +319,9 @@ public class GraphPanel extends JComponent {
             }
 
             kindCombo.addActionListener(kind);
+
+            this.add(new JButton(zoomIn));
+            this.add(new JButton(zoomOut));
         }
 
         class KindItemAction extends AbstractAction {
@@ -209,15 +373,9 @@ public class GraphPanel extends JComponent {
 
                 Integer valToInsert = Integer.valueOf(insertVal.getText().trim());
 
-                insertionsInOrder.add(valToInsert);
-
-                myTree.insert(valToInsert);
-
-                myTree.computeNodePositions();
+                insert(valToInsert);
 
                 insertVal.setText("");
-
-                repaint();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(null, "Please enter a valid integer");
             }
@@ -246,18 +404,206 @@ public class GraphPanel extends JComponent {
          * Handles the action event (e.g., button click) to clear the tree.
          */
         public void actionPerformed(ActionEvent e) {
-            // Remove the tree by setting root references to null
-            myTree.root = null;
-            myTree.myRoot = null;
+            // Stop any batch insert, then remove the tree and its layout
+            batchGeneration++;
+            synchronized (myTree) {
+                myTree.clear();
+
+                // Reset the insertion-order banner
+                insertionCount = 0;
+                insertionBanner.setLength(0);
+                bannerTrimmed = false;
+                bannerText = null;
+            }
+
+            revalidate();
+            repaint();
+        }
+    }
 
-            // Clear the lists storing nodes and edges for GUI rendering
-            nodes.clear();
-            edges.clear();
+    /**
+     * Action class for the Batch Insert button.
+     * Asks for a list of integers and ranges, e.g. "5, 3, 10..20", and
+     * inserts them in the background.
+     */
+    private class BatchInsertAction extends AbstractAction {
+        private static final long serialVersionUID = 1L;
 
-            // Clear the list that tracks insertion order
-            insertionsInOrder.clear();
+        public BatchInsertAction(String name) {
+            super(name);
+        }
 
+        public void actionPerformed(ActionEvent e) {
+            String text = JOptionPane.showInputDialog(GraphPanel.this,
+                    "Integers and ranges separated by commas or spaces, e.g. 5, 3, 10..20", "Batch Insert",
+                    JOptionPane.PLAIN_MESSAGE);
+            if (text != null && !text.trim().isEmpty())
+                submitBatch(new StringReader(text), "the batch");
+        }
+    }
+
+    /**
+     * Action class for the Insert File button.
+     * Inserts every integer (or range) in a text file, in the background.
+     */
+    private class FileInsertAction extends AbstractAction {
+        private static final long serialVersionUID = 1L;
+
+        public FileInsertAction(String name) {
+            super(name);
+        }
+
+        public void actionPerformed(ActionEvent e) {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(GraphPanel.this) != JFileChooser.APPROVE_OPTION)
+                return;
+
+            File file = chooser.getSelectedFile();
+            try {
+                submitBatch(Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8), file.getName());
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(GraphPanel.this, "Could not read " + file + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /** Queues a batch insert behind any that are already running. Called on the EDT. */
+    private void submitBatch(Reader input, String sourceName) {
+        batchExecutor.execute(new BatchInsertWorker(new BatchValues(input), sourceName, batchGeneration));
+    }
+
+    /**
+     * Inserts a stream of values on the batch thread. Each slice holds the
+     * tree lock for at most BATCH_SLICE_NANOS, so painting never waits long,
+     * and publishes how many values it added; Swing coalesces those into one
+     * repaint per EDT turn however many slices finished in between.
+     */
+    private class BatchInsertWorker extends SwingWorker<Integer, Integer> {
+        private final BatchValues values;
+        private final String sourceName;
+        private final int generation;
+
+        BatchInsertWorker(BatchValues values, String sourceName, int generation) {
+            this.values = values;
+            this.sourceName = sourceName;
+            this.generation = generation;
+        }
+
+        @Override
+        protected Integer doInBackground() throws IOException {
+            int total = 0;
+            try {
+                while (values.hasNext() && generation == batchGeneration) {
+                    int inserted = 0;
+                    long sliceEnd = System.nanoTime() + BATCH_SLICE_NANOS;
+                    synchronized (myTree) {
+                        // Clear may have run while this thread waited for the lock
+                        while (generation == batchGeneration && values.hasNext()
+                                && System.nanoTime() < sliceEnd) {
+                            Integer value = values.nextInt();
+                            addToBanner(value);
+                            myTree.insert(value);
+                            inserted++;
+                        }
+                    }
+                    total += inserted;
+                    publish(inserted);
+                }
+            } finally {
+                values.close();
+            }
+            return total;
+        }
+
+        @Override
+        protected void process(List<Integer> slices) {
+            revalidate(); // The preferred size grows with the tree
+            repaint();
+        }
+
+        @Override
+        protected void done() {
+            revalidate();
             repaint();
+            try {
+                get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                JOptionPane.showMessageDialog(GraphPanel.this, "Stopped inserting from " + sourceName + ": "
+                        + cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Lazily reads integers and inclusive ranges ("a..b") separated by commas
+     * or whitespace, so a large file or range is never held in memory at once.
+     */
+    private static class BatchValues implements PrimitiveIterator.OfInt {
+        private final Scanner scanner;
+        private long next; // Next value of the current range
+        private long last; // Last value of the current range; below next when none is active
+
+        BatchValues(Reader input) {
+            this.scanner = new Scanner(input).useDelimiter("[,\\s]+");
+            this.next = 1;
+            this.last = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next > last) {
+                if (!scanner.hasNext())
+                    return false;
+                parse(scanner.next());
+            }
+            return true;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return (int) next++;
+        }
+
+        /** @throws NumberFormatException if the token is not an integer or a range */
+        private void parse(String token) {
+            int dots = token.indexOf("..");
+            if (dots < 0) {
+                next = Integer.parseInt(token);
+                last = next;
+                return;
+            }
+
+            next = Integer.parseInt(token.substring(0, dots));
+            last = Integer.parseInt(token.substring(dots + 2));
+            if (last < next)
+                throw new NumberFormatException("Range runs backwards: " + token);
+        }
+
+        void close() {
+            scanner.close();
+        }
+    }
+
+    /**
+     * Action class for the zoom buttons: scales the view by a fixed factor.
+     */
+    private class ZoomAction extends AbstractAction {
+        private static final long serialVersionUID = 1L;
+
+        private double factor;
+
+        public ZoomAction(String name, double factor) {
+            super(name);
+            this.factor = factor;
+        }
+
+        public void actionPerformed(ActionEvent e) {
+            zoom(factor);
         }
     }
 
@@ -278,7 +624,9 @@ public class GraphPanel extends JComponent {
         public void actionPerformed(ActionEvent e) {
             JComboBox combo = (JComboBox) e.getSource();
             kind = (Kind) combo.getSelectedItem();
-            DisplayNode.updateKind(nodes, kind);
+            synchronized (myTree) {
+                DisplayNode.updateKind(grid.selected, kind);
+            }
             repaint();
         }
     }
@@ -317,6 +665,8 @@ public class GraphPanel extends JComponent {
      */
     private static class DisplayNode {
 
+        private static final Font VALUE_FONT = new Font("Courier", Font.BOLD, 24);
+
         private Point p;
         private int r;
         private Color color;
@@ -327,6 +677,15 @@ public class GraphPanel extends JComponent {
         private Integer nodeValue;
         private boolean hasNodeValue;
 
+        // How far the user has dragged this node from its layout position
+        private int dragX;
+        private int dragY;
+
+        // Grid cells b covered when last filed in the NodeGrid, inclusive
+        private int cellLeft, cellTop, cellRight, cellBottom;
+        private boolean inGrid;
+        private int placedVersion; // NodeGrid layout version when the tree last placed this node
+
         /**
          * Construct a new node. This came with the code and had no
          * value/key
@@ -374,7 +733,7 @@ public class GraphPanel extends JComponent {
             }
 
             g.setColor(Color.WHITE);
-            g.setFont(new Font("Courier", Font.BOLD, 24));
+            g.setFont(VALUE_FONT);
             if (hasNodeValue) {
                 int numDigits = nodeValue.toString().length();
 
@@ -431,70 +790,79 @@ public class GraphPanel extends JComponent {
         /**
          * Select no nodes.
          */
-        public static void selectNone(List<DisplayNode> list) {
-            for (DisplayNode n : list) {
+        public static void selectNone(NodeGrid grid) {
+            for (DisplayNode n : grid.selected) {
                 n.setSelected(false);
             }
+            grid.selected.clear();
         }
 
         /**
-         * Select a single node; return true if not already selected.
+         * Select a single node; return true if there is a node at p.
          */
-        public static boolean selectOne(List<DisplayNode> list, Point p) {
-            for (DisplayNode n : list) {
-                if (n.contains(p)) {
-                    if (!n.isSelected()) {
-                        DisplayNode.selectNone(list);
-                        n.setSelected(true);
-                    }
-                    return true;
-                }
+        public static boolean selectOne(NodeGrid grid, Point p) {
+            DisplayNode n = grid.nodeAt(p);
+            if (n == null) {
+                return false;
             }
-            return false;
+            if (!n.isSelected()) {
+                DisplayNode.selectNone(grid);
+                n.setSelected(true);
+                grid.selected.add(n);
+            }
+            return true;
         }
 
         /**
          * Select each node in r.
          */
-        public static void selectRect(List<DisplayNode> list, Rectangle r) {
-            for (DisplayNode n : list) {
-                n.setSelected(r.contains(n.p));
+        public static void selectRect(NodeGrid grid, Rectangle r) {
+            DisplayNode.selectNone(grid);
+            grid.collectCentresIn(r, grid.selected);
+            for (DisplayNode n : grid.selected) {
+                n.setSelected(true);
             }
         }
 
         /**
          * Toggle selected state of each node containing p.
          */
-        public static void selectToggle(List<DisplayNode> list, Point p) {
-            for (DisplayNode n : list) {
-                if (n.contains(p)) {
-                    n.setSelected(!n.isSelected());
+        public static void selectToggle(NodeGrid grid, Point p) {
+            List<DisplayNode> hits = new ArrayList<DisplayNode>();
+            grid.collectAt(p, hits);
+            for (DisplayNode n : hits) {
+                n.setSelected(!n.isSelected());
+                if (n.isSelected()) {
+                    grid.selected.add(n);
+                } else {
+                    grid.selected.remove(n);
                 }
             }
         }
 
         /**
-         * Update each node's position by d (delta).
+         * Update each selected node's position by d (delta). The move is kept
+         * as an offset from the node's layout position, so it survives repaints.
          */
-        public static void updatePosition(List<DisplayNode> list, Point d) {
-            for (DisplayNode n : list) {
-                if (n.isSelected()) {
-                    n.p.x += d.x;
-                    n.p.y += d.y;
-                    n.setBoundary(n.b);
-                }
+        public static void updatePosition(NodeGrid grid, Point d) {
+            for (DisplayNode n : grid.selected) {
+                n.dragX += d.x;
+                n.dragY += d.y;
+                n.p.x += d.x;
+                n.p.y += d.y;
+                n.setBoundary(n.b);
+                grid.update(n);
             }
         }
 
         /**
-         * Update each node's radius r.
+         * Update each selected node's radius r.
          */
-        public static void updateRadius(List<DisplayNode> list, int r) {
-            for (DisplayNode n : list) {
-                if (n.isSelected()) {
-                    n.r = r;
-                    n.setBoundary(n.b);
-                }
+        public static void updateRadius(NodeGrid grid, int r) {
+            for (DisplayNode n : grid.selected) {
+                n.r = r;
+                n.setBoundary(n.b);
+                grid.update(n);
             }
         }
 
@@ -521,12 +889,156 @@ public class GraphPanel extends JComponent {
         }
     }
 
+    /**
+     * Uniform grid over the DisplayNodes' boundaries, so hit-testing and drag
+     * selection look at the few cells under the mouse rather than every node.
+     * A node is filed in each cell its boundary overlaps and is only re-filed
+     * when it moves into different cells. Nodes are filed as the tree places
+     * them, both while painting and, when the layout has changed since, before
+     * the next hit-test (see prepareGrid). A node last placed before the
+     * current layout may be out of date and is skipped.
+     * Also holds the selected nodes, so selection changes touch only those.
+     */
+    private static class NodeGrid {
+        private static final int CELL = 128; // In tree coordinates; a node's boundary spans at most 2 x 2 cells
+
+        private final Map<Long, List<DisplayNode>> cells = new HashMap<Long, List<DisplayNode>>();
+        private final List<DisplayNode> selected = new ArrayList<DisplayNode>();
+        private int layoutVersion;
+        private boolean complete = true; // Every node has been placed since the layout last changed
+
+        /** Marks every position as out of date until the tree places it again. */
+        public void invalidate() {
+            layoutVersion++;
+            complete = false;
+        }
+
+        /** Records that n is at its current layout position. */
+        public void place(DisplayNode n) {
+            n.placedVersion = layoutVersion;
+            update(n);
+        }
+
+        /** Re-files n after its boundary changed. */
+        public void update(DisplayNode n) {
+            int left = Math.floorDiv(n.b.x, CELL);
+            int top = Math.floorDiv(n.b.y, CELL);
+            int right = Math.floorDiv(n.b.x + n.b.width, CELL);
+            int bottom = Math.floorDiv(n.b.y + n.b.height, CELL);
+            if (n.inGrid) {
+                if (left == n.cellLeft && top == n.cellTop && right == n.cellRight && bottom == n.cellBottom)
+                    return;
+                for (int col = n.cellLeft; col <= n.cellRight; col++)
+                    for (int row = n.cellTop; row <= n.cellBottom; row++)
+                        removeFromCell(key(col, row), n);
+            }
+
+            for (int col = left; col <= right; col++)
+                for (int row = top; row <= bottom; row++)
+                    cells.computeIfAbsent(key(col, row), k -> new ArrayList<DisplayNode>()).add(n);
+            n.cellLeft = left;
+            n.cellTop = top;
+            n.cellRight = right;
+            n.cellBottom = bottom;
+            n.inGrid = true;
+        }
+
+        private void removeFromCell(long key, DisplayNode n) {
+            List<DisplayNode> cell = cells.get(key);
+            int i = cell.indexOf(n); // DisplayNode uses identity equality
+            int last = cell.size() - 1;
+            cell.set(i, cell.get(last)); // Order within a cell does not matter
+            cell.remove(last);
+            if (last == 0)
+                cells.remove(key);
+        }
+
+        /** @return A node whose boundary contains p, or null */
+        public DisplayNode nodeAt(Point p) {
+            List<DisplayNode> cell = cells.get(key(Math.floorDiv(p.x, CELL), Math.floorDiv(p.y, CELL)));
+            if (cell != null) {
+                for (DisplayNode n : cell) {
+                    if (isCurrent(n) && n.contains(p))
+                        return n;
+                }
+            }
+            return null;
+        }
+
+        /** Adds every node whose boundary contains p to out. */
+        public void collectAt(Point p, List<DisplayNode> out) {
+            List<DisplayNode> cell = cells.get(key(Math.floorDiv(p.x, CELL), Math.floorDiv(p.y, CELL)));
+            if (cell != null) {
+                for (DisplayNode n : cell) {
+                    if (isCurrent(n) && n.contains(p))
+                        out.add(n);
+                }
+            }
+        }
+
+        /**
+         * Adds every node whose centre lies in r to out. Scans whichever is
+         * smaller, the cells under r or the occupied cells.
+         */
+        public void collectCentresIn(Rectangle r, List<DisplayNode> out) {
+            int left = Math.floorDiv(r.x, CELL);
+            int top = Math.floorDiv(r.y, CELL);
+            int right = Math.floorDiv(r.x + r.width, CELL);
+            int bottom = Math.floorDiv(r.y + r.height, CELL);
+            if ((long) (right - left + 1) * (bottom - top + 1) <= cells.size()) {
+                for (int col = left; col <= right; col++) {
+                    for (int row = top; row <= bottom; row++) {
+                        List<DisplayNode> cell = cells.get(key(col, row));
+                        if (cell != null)
+                            collectCentresIn(r, key(col, row), cell, out);
+                    }
+                }
+            } else {
+                for (Map.Entry<Long, List<DisplayNode>> entry : cells.entrySet())
+                    collectCentresIn(r, entry.getKey(), entry.getValue(), out);
+            }
+        }
+
+        private void collectCentresIn(Rectangle r, long key, List<DisplayNode> cell, List<DisplayNode> out) {
+            for (DisplayNode n : cell) {
+                // A node sits in several cells, but its centre is in exactly one
+                if (isCurrent(n) && r.contains(n.p)
+                        && key(Math.floorDiv(n.p.x, CELL), Math.floorDiv(n.p.y, CELL)) == key)
+                    out.add(n);
+            }
+        }
+
+        private boolean isCurrent(DisplayNode n) {
+            return n.placedVersion == layoutVersion;
+        }
+
+        private static long key(int col, int row) {
+            return ((long) col << 32) | (row & 0xffffffffL);
+        }
+
+        public void clear() {
+            cells.clear();
+            selected.clear();
+            layoutVersion++;
+            complete = true;
+        }
+    }
+
     public class BinarySearchTreeViewCapable<T extends Comparable<T>> extends RedBlackTree<T> {
         private MyNode myRoot;
 
         public int totalNodes = 0;
         public int maxHeight = 0;
 
+        // Subtrees narrower than this on screen are drawn as a single summary glyph
+        private static final int LOD_MIN_PIXELS = 24;
+        private final Color summaryRed = new Color(0xe0, 0x80, 0x80);
+        private final Color summaryBlack = new Color(0x80, 0x80, 0x80);
+
+        // Reused on every paint
+        private final List<DisplayNode> visibleNodes = new ArrayList<DisplayNode>();
+        private final Polygon summaryGlyph = new Polygon();
+
         public int treeHeight(Node t) {
             if (t == null)
                 return -1;
@@ -542,56 +1054,192 @@ public class GraphPanel extends JComponent {
         }
 
         /**
-         * This method uses an inorder traversal to figure out the relative x and y
-         * positions of
-         * each node.
+         * Brings the cached layout up to date after an insert, in time
+         * proportional to the nodes that actually moved. Each node stores its
+         * x offset from its parent in in-order ranks, which depends only on its
+         * own subtree: size(right) + 1 to the left of its parent, or
+         * size(left) + 1 to the right. A subtree whose root has the same size,
+         * parent and offset as at the last layout cannot have changed inside,
+         * so it is skipped. Absolute positions are only worked out when painting.
          */
         public void computeNodePositions() {
-            int depth = 1;
-            totalNodes = 0;
-            nodes.clear();
-            edges.clear();
-            recInOrderTraversal(myRoot, depth);
+            grid.invalidate(); // Absolute positions are now stale until painted or hit-tested
+            totalNodes = size();
+            recLayout(myRoot, null);
+            maxHeight = (myRoot == null) ? 0 : myRoot.subtreeHeight;
         }
 
-        private void recInOrderTraversal(MyNode subTreeRoot, int depth) {
-
+        private void recLayout(MyNode subTreeRoot, MyNode parent) {
             if (subTreeRoot == null)
                 return;
 
-            recInOrderTraversal((MyNode) subTreeRoot.left, depth + 1);
-            processNode(subTreeRoot, depth);
-            recInOrderTraversal((MyNode) subTreeRoot.right, depth + 1);
+            int offset;
+            if (parent == null)
+                offset = sizeOf(subTreeRoot.left); // The root's offset is its own rank
+            else if (parent.left == subTreeRoot)
+                offset = -(sizeOf(subTreeRoot.right) + 1);
+            else
+                offset = sizeOf(subTreeRoot.left) + 1;
+
+            if (subTreeRoot.xOffset == offset && subTreeRoot.laidOutSize == subTreeRoot.size
+                    && subTreeRoot.laidOutParent == parent)
+                return;
+
+            recLayout((MyNode) subTreeRoot.left, subTreeRoot);
+            recLayout((MyNode) subTreeRoot.right, subTreeRoot);
+            processNode(subTreeRoot, offset, parent);
         }
 
         /**
-         * This performs the actual calculation of the relative x and y positions for
-         * the node.
-         * It creates a data structure necessary to display the node.
-         * It also creates an edge using the current node and the parent node.
-         * 
-         * @param node
-         * @param depth
+         * This records the node's new offset and subtree height, and re-points
+         * its edge at its (possibly new) parent. The DisplayNode and Edge are
+         * created once and reused from then on.
          */
-        // @Override
-        private void processNode(MyNode node, int depth) {
-            Color nodeColour = (node.nodeColourRed) ? Color.red : Color.black;
+        private void processNode(MyNode node, int offset, MyNode parent) {
+            node.xOffset = offset;
+            node.laidOutSize = node.size;
+            node.laidOutParent = parent;
+            node.subtreeHeight = 1 + max(heightOf(node.left), heightOf(node.right));
+
+            if (parent == null) {
+                node.refToEdge = null; // Rotated up to the root
+            } else if (node.refToEdge == null) {
+                node.refToEdge = new Edge(node.refToDisplayNode, parent.refToDisplayNode);
+            } else {
+                node.refToEdge.n2 = parent.refToDisplayNode;
+            }
+        }
 
-            node.xpos = totalNodes++;
-            node.ypos = depth;
-            Point p = new Point(NodeConstants.X_OFFSET + node.xpos * NodeConstants.X_OFFSET,
-                    NodeConstants.Y_OFFSET + node.ypos * NodeConstants.Y_OFFSET);
+        private int sizeOf(Node node) {
+            return (node == null) ? 0 : node.size;
+        }
 
-            DisplayNode currDisplayNode = new DisplayNode(p, 30, nodeColour, kind, (Integer) node.value);
-            node.refToDisplayNode = currDisplayNode;
+        private int heightOf(Node node) {
+            return (node == null) ? -1 : ((MyNode) node).subtreeHeight;
+        }
 
-            if (node.parent != null) {
+        /**
+         * Turns the stored offsets into absolute positions top-down, moving
+         * each DisplayNode (and picking up colour changes) as it goes, and
+         * draws the edges. Only subtrees that reach into the clip are walked:
+         * a subtree covers the ranks from its leftmost to its rightmost node, so
+         * its horizontal extent is known without visiting it. Nodes are drawn
+         * afterwards so they sit on top.
+         *
+         * @param g     Graphics already scaled to tree coordinates
+         * @param scale The zoom, used to collapse subtrees too small to read
+         */
+        public void paintTree(Graphics2D g, double scale) {
+            Rectangle clip = g.getClipBounds();
+            if (clip == null || myRoot == null)
+                return;
 
-                DisplayNode parentDisplayNode = ((MyNode) node.parent).refToDisplayNode;
-                Edge currEdge = new Edge(currDisplayNode, parentDisplayNode);
-                edges.add(currEdge);
+            visibleNodes.clear();
+            recPlace(myRoot, 0, 1, null, g, clip, scale);
+            for (DisplayNode n : visibleNodes) {
+                n.draw(g);
             }
-            nodes.add(currDisplayNode);
+        }
+
+        /**
+         * Files every node in the grid at its current layout position, so
+         * clicks and drag selections made before the next paint still hit.
+         * Every node to the right of an insert moves, so this is O(n); it runs
+         * once per layout change, on the first hit-test after it, rather than
+         * on every insert.
+         */
+        public void placeAll() {
+            if (myRoot != null)
+                recPlaceAll(myRoot, 0, 1);
+            grid.complete = true;
+        }
+
+        private void recPlaceAll(MyNode subTreeRoot, int parentRank, int depth) {
+            place(subTreeRoot, parentRank, depth);
+            if (subTreeRoot.left != null)
+                recPlaceAll((MyNode) subTreeRoot.left, subTreeRoot.xpos, depth + 1);
+            if (subTreeRoot.right != null)
+                recPlaceAll((MyNode) subTreeRoot.right, subTreeRoot.xpos, depth + 1);
+        }
+
+        /** Moves the node's DisplayNode to its layout position plus any drag offset, and files it. */
+        private void place(MyNode subTreeRoot, int parentRank, int depth) {
+            subTreeRoot.xpos = parentRank + subTreeRoot.xOffset;
+            subTreeRoot.ypos = depth;
+
+            DisplayNode display = subTreeRoot.refToDisplayNode;
+            display.color = (subTreeRoot.nodeColourRed) ? Color.red : Color.black;
+            display.p.setLocation(layoutX(subTreeRoot) + display.dragX, layoutY(depth) + display.dragY);
+            display.setBoundary(display.b);
+            grid.place(display);
+        }
+
+        private int layoutX(MyNode node) {
+            return NodeConstants.X_OFFSET + node.xpos * NodeConstants.X_OFFSET;
+        }
+
+        private int layoutY(int depth) {
+            return NodeConstants.Y_OFFSET + depth * NodeConstants.Y_OFFSET;
+        }
+
+        private void recPlace(MyNode subTreeRoot, int parentRank, int depth, Point parentPoint, Graphics2D g,
+                Rectangle clip, double scale) {
+            place(subTreeRoot, parentRank, depth);
+            DisplayNode display = subTreeRoot.refToDisplayNode;
+            int x = layoutX(subTreeRoot);
+            int y = layoutY(depth);
+
+            Point p = display.p;
+            if (parentPoint != null && clip.intersectsLine(parentPoint.x, parentPoint.y, p.x, p.y))
+                subTreeRoot.refToEdge.draw(g);
+
+            // Everything below lies within the subtree's rank range and under this node,
+            // give or take the furthest any node has been dragged
+            int left = x - sizeOf(subTreeRoot.left) * NodeConstants.X_OFFSET - display.r;
+            int right = x + sizeOf(subTreeRoot.right) * NodeConstants.X_OFFSET + display.r;
+            if (right + maxDragX < clip.x || left - maxDragX > clip.x + clip.width
+                    || y - display.r - maxDragY > clip.y + clip.height)
+                return;
+
+            if (subTreeRoot.size > 1 && (right - left) * scale < LOD_MIN_PIXELS) {
+                drawSummary(g, subTreeRoot, x, y, left + display.r, right - display.r);
+                return;
+            }
+
+            if (display.b.intersects(clip))
+                visibleNodes.add(display);
+            if (subTreeRoot.left != null)
+                recPlace((MyNode) subTreeRoot.left, subTreeRoot.xpos, depth + 1, p, g, clip, scale);
+            if (subTreeRoot.right != null)
+                recPlace((MyNode) subTreeRoot.right, subTreeRoot.xpos, depth + 1, p, g, clip, scale);
+        }
+
+        /**
+         * Draws a whole subtree as one triangle spanning its width and height,
+         * with its apex at the subtree root's layout position (x, y).
+         */
+        private void drawSummary(Graphics2D g, MyNode subTreeRoot, int x, int y, int left, int right) {
+            int bottom = y + subTreeRoot.subtreeHeight * NodeConstants.Y_OFFSET;
+            summaryGlyph.reset();
+            summaryGlyph.addPoint(x, y);
+            summaryGlyph.addPoint(left, bottom);
+            summaryGlyph.addPoint(right, bottom);
+
+            g.setColor(subTreeRoot.nodeColourRed ? summaryRed : summaryBlack);
+            g.fillPolygon(summaryGlyph);
+            g.setColor(Color.darkGray);
+            g.drawPolygon(summaryGlyph);
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            myRoot = null;
+            totalNodes = 0;
+            maxHeight = 0;
+            grid.clear();
+            maxDragX = 0;
+            maxDragY = 0;
         }
 
         /*
@@ -617,6 +1265,7 @@ public class GraphPanel extends JComponent {
         @Override
         public void insert(T value) {
             MyNode node = new MyNode(value); // Create the Node to add
+            node.refToDisplayNode = new DisplayNode(new Point(), 30, Color.red, kind, (Integer) node.value);
 
             // Special case that cannot be handled recursively
             if (myRoot == null) {
@@ -628,8 +1277,7 @@ public class GraphPanel extends JComponent {
             super.root = myRoot;
             super.handleRedBlack(node);
             myRoot = (BinarySearchTreeViewCapable<T>.MyNode) root;
-            myTree.computeNodePositions();
-            myTree.maxHeight = myTree.treeHeight(myTree.root);
+            computeNodePositions();
 
         }
 
@@ -643,10 +1291,18 @@ public class GraphPanel extends JComponent {
         }
 
         public class MyNode extends RedBlackTree<T>.Node {
-            public int xpos;
-            public int ypos;
+            public int xpos; // In-order rank, as of the last paint
+            public int ypos; // Depth, as of the last paint
 
             public DisplayNode refToDisplayNode;
+            private Edge refToEdge; // Edge to the parent; null for the root
+
+            // Layout cache: offset from the parent's rank, and the subtree's
+            // height, size and parent when last laid out
+            private int xOffset = Integer.MIN_VALUE; // Not yet laid out
+            private int subtreeHeight;
+            private int laidOutSize;
+            private MyNode laidOutParent;
 
             public MyNode(T value) {
                 super(value);
@@ -0,0 +1,129 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GraphPanelTest {
+
+    private GraphPanel panel;
+
+    @BeforeClass
+    public static void headless() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    @Before
+    public void setUp() {
+        panel = new GraphPanel();
+        panel.setSize(800, 600);
+    }
+
+    private void paint() {
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setClip(0, 0, 800, 600);
+        panel.paint(g);
+        g.dispose();
+    }
+
+    private void mouse(int id, Point p) {
+        panel.dispatchEvent(new MouseEvent(panel, id, 0, InputEvent.BUTTON1_DOWN_MASK, p.x, p.y, 1, false,
+                MouseEvent.BUTTON1));
+    }
+
+    private void drag(Point from, Point to) {
+        mouse(MouseEvent.MOUSE_PRESSED, from);
+        mouse(MouseEvent.MOUSE_DRAGGED, to);
+        mouse(MouseEvent.MOUSE_RELEASED, to);
+    }
+
+    @Test
+    public void testDraggedNodeStaysWhereDropped() {
+        for (int v : new int[] { 2, 1, 3 })
+            panel.insert(v);
+        paint();
+
+        Point root = panel.locationOf(2);
+        Point leaf = panel.locationOf(1);
+        Point dropped = new Point(root.x + 30, root.y + 40);
+        drag(root, dropped);
+        paint();
+
+        assertEquals(dropped, panel.locationOf(2));
+        assertEquals(leaf, panel.locationOf(1));
+
+        // The node can be picked up again where it now is
+        Point again = new Point(dropped.x - 10, dropped.y + 5);
+        drag(dropped, again);
+        paint();
+        assertEquals(again, panel.locationOf(2));
+    }
+
+    @Test
+    public void testDragOffsetFollowsLayoutChanges() {
+        for (int v : new int[] { 2, 1, 3 })
+            panel.insert(v);
+        paint();
+
+        Point leaf = panel.locationOf(3);
+        drag(leaf, new Point(leaf.x + 20, leaf.y));
+
+        // 0 shifts every rank right by one column
+        panel.insert(0);
+        paint();
+        Point moved = panel.locationOf(3);
+        assertEquals(leaf.x + 20 + GraphPanel.BinarySearchTreeViewCapable.NodeConstants.X_OFFSET, moved.x);
+    }
+
+    @Test
+    public void testDragFollowsZoom() {
+        for (int v : new int[] { 2, 1, 3 })
+            panel.insert(v);
+        panel.zoom(0.5);
+        paint();
+
+        Point root = panel.locationOf(2);
+        Point onScreen = new Point(root.x / 2, root.y / 2);
+        drag(onScreen, new Point(onScreen.x + 10, onScreen.y));
+        paint();
+        assertEquals(new Point(root.x + 20, root.y), panel.locationOf(2));
+    }
+
+    @Test
+    public void testNodesCanBeHitBeforeRepaint() {
+        for (int v : new int[] { 2, 1, 3 })
+            panel.insert(v);
+        paint();
+        Point root = panel.locationOf(2);
+
+        // The insert changes the layout; the root must still be hit before the next paint
+        panel.insert(4);
+        Point dropped = new Point(root.x + 30, root.y + 40);
+        drag(root, dropped);
+        paint();
+
+        assertEquals(dropped, panel.locationOf(2));
+    }
+
+    @Test
+    public void testBannerKeepsOnlyRecentValues() {
+        for (int v = 1; v <= 5; v++)
+            panel.insert(v);
+        assertEquals("Insertion Order of Nodes: 1,2,3,4,5,", panel.bannerText());
+
+        for (int v = 6; v <= 2000; v++)
+            panel.insert(v);
+        String banner = panel.bannerText();
+        assertTrue(banner, banner.startsWith("Insertion Order of Nodes (2000): ..."));
+        assertTrue(banner, banner.endsWith(",1999,2000,"));
+        assertTrue(banner, banner.length() <= "Insertion Order of Nodes (2000): ...".length() + 200);
+    }
+}
@@ -0,0 +1,256 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.util.Arrays;
+
+/**
+ * Red-Black tree specialised for int keys.
+ * Nodes are stored as parallel arrays indexed by node id rather than as
+ * Node objects, so each entry costs four ints and one colour bit.
+ */
+public class IntRedBlackTree {
+    static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Package-private so tests can check the Red-Black invariants
+    int[] keys;
+    int[] left;
+    int[] right;
+    private int[] parent;
+    private long[] red; // One colour bit per node, set means RED
+
+    int root = NIL;
+    private int size;
+
+    public IntRedBlackTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntRedBlackTree(int initialCapacity) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException("initialCapacity must be positive: " + initialCapacity);
+
+        keys = new int[initialCapacity];
+        left = new int[initialCapacity];
+        right = new int[initialCapacity];
+        parent = new int[initialCapacity];
+        red = new long[(initialCapacity + 63) >>> 6];
+    }
+
+    /** Inserts a value into the tree and applies Red-Black balancing. */
+    public void insert(int value) {
+        int node = newNode(value);
+
+        if (root == NIL) {
+            root = node;
+            setRed(node, false);
+            return;
+        }
+
+        insertIter(root, node);
+        handleRedBlack(node); // Apply Red-Black balancing
+    }
+
+    /** Walks down from subTreeRoot and links node in as a leaf (equal keys go right). */
+    private void insertIter(int subTreeRoot, int node) {
+        int current = subTreeRoot;
+        while (true) {
+            if (keys[node] < keys[current]) {
+                if (left[current] == NIL) {
+                    left[current] = node;
+                    parent[node] = current;
+                    return;
+                }
+                current = left[current];
+            } else {
+                if (right[current] == NIL) {
+                    right[current] = node;
+                    parent[node] = current;
+                    return;
+                }
+                current = right[current];
+            }
+        }
+    }
+
+    // Handle Red-Black violations after insertion
+    private void handleRedBlack(int newNode) {
+        while (true) {
+            if (newNode == root) {
+                setRed(newNode, false);
+                return;
+            }
+
+            int par = parent[newNode];
+            int grandParent = parent[par];
+
+            if (grandParent == NIL)
+                return;
+
+            if (!isRed(par))
+                return;
+
+            int uncle = (par == left[grandParent]) ? right[grandParent] : left[grandParent];
+
+            // Red Uncle - Recolor and continue upward from the grandparent
+            if (uncle != NIL && isRed(uncle)) {
+                setRed(par, false);
+                setRed(uncle, false);
+                setRed(grandParent, true);
+                newNode = grandParent;
+                continue;
+            }
+
+            // Black uncle - Apply rotation cases
+            if (par == left[grandParent]) {
+                if (newNode == right[par]) {
+                    rotateSubTreeLeft(par); // Left-Right case reduces to Left-Left
+                    par = newNode;
+                }
+                rotateSubTreeRight(grandParent); // Left-Left case
+            } else {
+                if (newNode == left[par]) {
+                    rotateSubTreeRight(par); // Right-Left case reduces to Right-Right
+                    par = newNode;
+                }
+                rotateSubTreeLeft(grandParent); // Right-Right case
+            }
+            setRed(par, false);
+            setRed(grandParent, true);
+            return;
+        }
+    }
+
+    /** Left rotation: promotes right child and relinks it into node's old parent. */
+    private void rotateSubTreeLeft(int node) {
+        int newRoot = right[node];
+        if (newRoot == NIL)
+            return;
+
+        right[node] = left[newRoot];
+        if (right[node] != NIL)
+            parent[right[node]] = node;
+
+        left[newRoot] = node;
+        replaceChild(parent[node], node, newRoot);
+        parent[node] = newRoot;
+    }
+
+    /** Right rotation: promotes left child and relinks it into node's old parent. */
+    private void rotateSubTreeRight(int node) {
+        int newRoot = left[node];
+        if (newRoot == NIL)
+            return;
+
+        left[node] = right[newRoot];
+        if (left[node] != NIL)
+            parent[left[node]] = node;
+
+        right[newRoot] = node;
+        replaceChild(parent[node], node, newRoot);
+        parent[node] = newRoot;
+    }
+
+    private void replaceChild(int par, int oldChild, int newChild) {
+        if (par == NIL) {
+            root = newChild;
+        } else if (left[par] == oldChild) {
+            left[par] = newChild;
+        } else {
+            right[par] = newChild;
+        }
+        parent[newChild] = par;
+    }
+
+    /** Traverse the tree in-order. */
+    public void inOrderTraversal() {
+        recInOrderTraversal(root);
+    }
+
+    public void preOrderTraversal() {
+        recPreOrderTraversal(root);
+    }
+
+    public void postOrderTraversal() {
+        recPostOrderTraversal(root);
+    }
+
+    private void recInOrderTraversal(int subTreeRoot) {
+        if (subTreeRoot == NIL)
+            return;
+
+        recInOrderTraversal(left[subTreeRoot]);
+        processNode(subTreeRoot);
+        recInOrderTraversal(right[subTreeRoot]);
+    }
+
+    private void recPreOrderTraversal(int subTreeRoot) {
+        if (subTreeRoot == NIL)
+            return;
+
+        processNode(subTreeRoot);
+        recPreOrderTraversal(left[subTreeRoot]);
+        recPreOrderTraversal(right[subTreeRoot]);
+    }
+
+    private void recPostOrderTraversal(int subTreeRoot) {
+        if (subTreeRoot == NIL)
+            return;
+
+        recPostOrderTraversal(left[subTreeRoot]);
+        recPostOrderTraversal(right[subTreeRoot]);
+        processNode(subTreeRoot);
+    }
+
+    /** Process a node - here we print it in the same format as RedBlackTree.Node. */
+    private void processNode(int node) {
+        String color = isRed(node) ? "RED" : "BLACK";
+        System.out.println("Node [value=" + keys[node] + ", color=" + color + "]");
+    }
+
+    /** @return The number of nodes in the tree */
+    public int countNodes() {
+        return size;
+    }
+
+    /////////////////////////////////////////////////////////////////
+    // Node storage
+
+    /** Allocates the next free slot, growing the arrays geometrically when full. */
+    private int newNode(int value) {
+        if (size == keys.length)
+            grow();
+
+        int node = size++;
+        keys[node] = value;
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = NIL;
+        setRed(node, true); // New nodes default to red
+        return node;
+    }
+
+    private void grow() {
+        int newCapacity = keys.length + (keys.length >> 1) + 1;
+        if (newCapacity < 0)
+            newCapacity = Integer.MAX_VALUE - 8;
+        if (newCapacity <= keys.length)
+            throw new IllegalStateException("IntRedBlackTree is full");
+
+        keys = Arrays.copyOf(keys, newCapacity);
+        left = Arrays.copyOf(left, newCapacity);
+        right = Arrays.copyOf(right, newCapacity);
+        parent = Arrays.copyOf(parent, newCapacity);
+        red = Arrays.copyOf(red, (newCapacity + 63) >>> 6);
+    }
+
+    boolean isRed(int node) {
+        return (red[node >>> 6] & (1L << node)) != 0;
+    }
+
+    private void setRed(int node, boolean nodeColourRed) {
+        if (nodeColourRed)
+            red[node >>> 6] |= 1L << node;
+        else
+            red[node >>> 6] &= ~(1L << node);
+    }
+}
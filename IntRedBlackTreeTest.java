@@ -0,0 +1,105 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntRedBlackTreeTest {
+
+    /** @return The black height of the subtree, after checking it has no red-red pair */
+    private static int checkRedBlack(IntRedBlackTree tree, int node, int parent) {
+        if (node == IntRedBlackTree.NIL)
+            return 1;
+        if (parent != IntRedBlackTree.NIL)
+            assertFalse("red node with red parent", tree.isRed(node) && tree.isRed(parent));
+
+        int leftHeight = checkRedBlack(tree, tree.left[node], node);
+        int rightHeight = checkRedBlack(tree, tree.right[node], node);
+        assertEquals("unequal black heights", leftHeight, rightHeight);
+        return leftHeight + (tree.isRed(node) ? 0 : 1);
+    }
+
+    private static void assertValid(IntRedBlackTree tree) {
+        if (tree.root != IntRedBlackTree.NIL)
+            assertFalse("root must be black", tree.isRed(tree.root));
+        checkRedBlack(tree, tree.root, IntRedBlackTree.NIL);
+    }
+
+    /** @return Everything action prints to System.out */
+    private static String printed(Runnable action) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(buffer, true));
+        try {
+            action.run();
+        } finally {
+            System.setOut(original);
+        }
+        return buffer.toString();
+    }
+
+    /** Inserts values into both trees and checks they end up identical. */
+    private static void assertMatchesRedBlackTree(int[] values) {
+        IntRedBlackTree tree = new IntRedBlackTree();
+        RedBlackTree<Integer> reference = new RedBlackTree<Integer>();
+        for (int v : values) {
+            tree.insert(v);
+            reference.insert(v);
+        }
+
+        assertValid(tree);
+        assertEquals(values.length, tree.countNodes());
+        assertEquals(printed(reference::inOrderTraversal), printed(tree::inOrderTraversal));
+        // Same fix-up, so the same shape and colours
+        assertEquals(printed(reference::preOrderTraversal), printed(tree::preOrderTraversal));
+    }
+
+    @Test
+    public void testEmpty() {
+        IntRedBlackTree tree = new IntRedBlackTree();
+        assertEquals(0, tree.countNodes());
+        assertValid(tree);
+        assertEquals("", printed(tree::inOrderTraversal));
+    }
+
+    @Test
+    public void testSortedInput() {
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++)
+            values[i] = i;
+        assertMatchesRedBlackTree(values);
+    }
+
+    @Test
+    public void testReverseInput() {
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++)
+            values[i] = values.length - i;
+        assertMatchesRedBlackTree(values);
+    }
+
+    @Test
+    public void testRandomInputWithDuplicates() {
+        Random random = new Random(1);
+        int[] values = new int[2000];
+        for (int i = 0; i < values.length; i++)
+            values[i] = random.nextInt(500) - 250;
+        assertMatchesRedBlackTree(values);
+    }
+
+    @Test
+    public void testGrowthKeepsColours() {
+        // Capacity 1 grows many times, and node ids cross several long colour words
+        IntRedBlackTree tree = new IntRedBlackTree(1);
+        for (int i = 0; i < 300; i++) {
+            tree.insert(i * 7 % 300);
+            assertValid(tree);
+        }
+        assertEquals(300, tree.countNodes());
+        assertTrue(tree.keys.length >= 300);
+    }
+}
@@ -0,0 +1,98 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts keys to and from the bytes stored in a RedBlackTree snapshot.
+ * Each codec has a fixed id that is written into the snapshot header, so a
+ * file can only be read back with the codec that wrote it.
+ */
+public interface KeyCodec<T> {
+
+    /** @return The id stored in the snapshot header for this codec */
+    int id();
+
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * Reads one key starting at the buffer's position and advances past it.
+     * @throws BufferUnderflowException if the record runs past the end of the buffer
+     */
+    T read(ByteBuffer in);
+
+    /** 4-byte big-endian int. */
+    KeyCodec<Integer> INTEGER = new KeyCodec<Integer>() {
+        public int id() {
+            return 1;
+        }
+
+        public void write(Integer value, DataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        public Integer read(ByteBuffer in) {
+            return in.getInt();
+        }
+    };
+
+    /** Length-prefixed UTF-8. */
+    KeyCodec<String> STRING = new KeyCodec<String>() {
+        public int id() {
+            return 2;
+        }
+
+        public void write(String value, DataOutput out) throws IOException {
+            writeString(value, out);
+        }
+
+        public String read(ByteBuffer in) {
+            return readString(in);
+        }
+    };
+
+    /** Firstname, surname and age. */
+    KeyCodec<Person> PERSON = new KeyCodec<Person>() {
+        public int id() {
+            return 3;
+        }
+
+        public void write(Person value, DataOutput out) throws IOException {
+            writeString(value.getFirstname(), out);
+            writeString(value.getSurname(), out);
+            out.writeInt(value.getAge());
+        }
+
+        public Person read(ByteBuffer in) {
+            String firstname = readString(in);
+            String surname = readString(in);
+            return new Person(firstname, surname, in.getInt());
+        }
+    };
+
+    /** Writes a byte count (-1 for null) followed by the UTF-8 bytes. */
+    static void writeString(String value, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0)
+            return null;
+        if (length > in.remaining())
+            throw new BufferUnderflowException();
+
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,271 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Red-Black tree of int keys whose nodes live outside the Java heap.
+ * Each node is a fixed-width record in a direct ByteBuffer arena, so the
+ * garbage collector never sees the nodes and the footprint is exactly
+ * capacity * RECORD_BYTES. The arena is released by close().
+ */
+public class OffHeapRedBlackTree implements AutoCloseable {
+    // Record layout (byte offsets within a record)
+    private static final int KEY = 0;
+    static final int LEFT = 4; // LEFT and RIGHT are package-private so tests can walk the tree
+    static final int RIGHT = 8;
+    private static final int PARENT = 12;
+    private static final int COLOUR = 16; // One byte, then padding
+
+    /** Size of one node record in bytes; a multiple of 4 so every int stays aligned. */
+    public static final int RECORD_BYTES = 20;
+
+    // NIL, root, isRed and arena() are package-private so tests can check the Red-Black invariants
+    static final int NIL = -1;
+    private static final byte RED = 1;
+    private static final byte BLACK = 0;
+
+    private ByteBuffer arena;
+    private final int capacity;
+    int root = NIL; // Byte offset of the root record
+    private int size;
+
+    /**
+     * @param capacity The maximum number of nodes; the arena is allocated up front
+     */
+    public OffHeapRedBlackTree(int capacity) {
+        if (capacity < 1 || capacity > Integer.MAX_VALUE / RECORD_BYTES)
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+
+        this.capacity = capacity;
+        this.arena = ByteBuffer.allocateDirect(capacity * RECORD_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /** @return The number of bytes reserved for the arena */
+    public long footprintBytes() {
+        return (long) capacity * RECORD_BYTES;
+    }
+
+    /** Inserts a value into the tree and applies Red-Black balancing. */
+    public void insert(int value) {
+        ByteBuffer buf = arena();
+        if (size == capacity)
+            throw new IllegalStateException("Arena is full (" + capacity + " nodes)");
+
+        int node = size++ * RECORD_BYTES;
+        buf.putInt(node + KEY, value);
+        buf.putInt(node + LEFT, NIL);
+        buf.putInt(node + RIGHT, NIL);
+        buf.putInt(node + PARENT, NIL);
+        buf.put(node + COLOUR, RED); // New nodes default to red
+
+        if (root == NIL) {
+            root = node;
+            buf.put(node + COLOUR, BLACK);
+            return;
+        }
+
+        insertIter(buf, node, value);
+        handleRedBlack(buf, node); // Apply Red-Black balancing
+    }
+
+    /** Walks down from the root and links node in as a leaf (equal keys go right). */
+    private void insertIter(ByteBuffer buf, int node, int value) {
+        int current = root;
+        while (true) {
+            int side = value < buf.getInt(current + KEY) ? LEFT : RIGHT;
+            int child = buf.getInt(current + side);
+            if (child == NIL) {
+                buf.putInt(current + side, node);
+                buf.putInt(node + PARENT, current);
+                return;
+            }
+            current = child;
+        }
+    }
+
+    /** @return true if value is stored in the tree */
+    public boolean search(int value) {
+        ByteBuffer buf = arena();
+        int current = root;
+        while (current != NIL) {
+            int key = buf.getInt(current + KEY);
+            if (value == key)
+                return true;
+            current = buf.getInt(current + (value < key ? LEFT : RIGHT));
+        }
+        return false;
+    }
+
+    // Handle Red-Black violations after insertion
+    private void handleRedBlack(ByteBuffer buf, int newNode) {
+        while (true) {
+            if (newNode == root) {
+                setRed(buf, newNode, false);
+                return;
+            }
+
+            int parent = buf.getInt(newNode + PARENT);
+            int grandParent = buf.getInt(parent + PARENT);
+
+            if (grandParent == NIL)
+                return;
+
+            if (!isRed(buf, parent))
+                return;
+
+            boolean parentIsLeft = parent == buf.getInt(grandParent + LEFT);
+            int uncle = buf.getInt(grandParent + (parentIsLeft ? RIGHT : LEFT));
+
+            // Red Uncle - Recolor and continue upward from the grandparent
+            if (uncle != NIL && isRed(buf, uncle)) {
+                setRed(buf, parent, false);
+                setRed(buf, uncle, false);
+                setRed(buf, grandParent, true);
+                newNode = grandParent;
+                continue;
+            }
+
+            // Black uncle - Apply rotation cases
+            if (parentIsLeft) {
+                if (newNode == buf.getInt(parent + RIGHT)) {
+                    rotate(buf, parent, RIGHT, LEFT); // Left-Right case reduces to Left-Left
+                    parent = newNode;
+                }
+                rotate(buf, grandParent, LEFT, RIGHT); // Left-Left case
+            } else {
+                if (newNode == buf.getInt(parent + LEFT)) {
+                    rotate(buf, parent, LEFT, RIGHT); // Right-Left case reduces to Right-Right
+                    parent = newNode;
+                }
+                rotate(buf, grandParent, RIGHT, LEFT); // Right-Right case
+            }
+            setRed(buf, parent, false);
+            setRed(buf, grandParent, true);
+            return;
+        }
+    }
+
+    /**
+     * Promotes node's child on side `up` and demotes node to side `down`.
+     * rotate(n, RIGHT, LEFT) is a left rotation; rotate(n, LEFT, RIGHT) a right one.
+     */
+    private void rotate(ByteBuffer buf, int node, int up, int down) {
+        int newRoot = buf.getInt(node + up);
+        int inner = buf.getInt(newRoot + down);
+
+        buf.putInt(node + up, inner);
+        if (inner != NIL)
+            buf.putInt(inner + PARENT, node);
+
+        int oldParent = buf.getInt(node + PARENT);
+        buf.putInt(newRoot + down, node);
+        buf.putInt(node + PARENT, newRoot);
+        buf.putInt(newRoot + PARENT, oldParent);
+
+        if (oldParent == NIL) {
+            root = newRoot;
+        } else if (buf.getInt(oldParent + LEFT) == node) {
+            buf.putInt(oldParent + LEFT, newRoot);
+        } else {
+            buf.putInt(oldParent + RIGHT, newRoot);
+        }
+    }
+
+    /** Traverse the tree in-order. */
+    public void inOrderTraversal() {
+        recInOrderTraversal(arena(), root);
+    }
+
+    public void preOrderTraversal() {
+        recPreOrderTraversal(arena(), root);
+    }
+
+    public void postOrderTraversal() {
+        recPostOrderTraversal(arena(), root);
+    }
+
+    private void recInOrderTraversal(ByteBuffer buf, int subTreeRoot) {
+        if (subTreeRoot == NIL)
+            return;
+
+        recInOrderTraversal(buf, buf.getInt(subTreeRoot + LEFT));
+        processNode(buf, subTreeRoot);
+        recInOrderTraversal(buf, buf.getInt(subTreeRoot + RIGHT));
+    }
+
+    private void recPreOrderTraversal(ByteBuffer buf, int subTreeRoot) {
+        if (subTreeRoot == NIL)
+            return;
+
+        processNode(buf, subTreeRoot);
+        recPreOrderTraversal(buf, buf.getInt(subTreeRoot + LEFT));
+        recPreOrderTraversal(buf, buf.getInt(subTreeRoot + RIGHT));
+    }
+
+    private void recPostOrderTraversal(ByteBuffer buf, int subTreeRoot) {
+        if (subTreeRoot == NIL)
+            return;
+
+        recPostOrderTraversal(buf, buf.getInt(subTreeRoot + LEFT));
+        recPostOrderTraversal(buf, buf.getInt(subTreeRoot + RIGHT));
+        processNode(buf, subTreeRoot);
+    }
+
+    /** Process a node - here we print it in the same format as RedBlackTree.Node. */
+    private void processNode(ByteBuffer buf, int node) {
+        String color = isRed(buf, node) ? "RED" : "BLACK";
+        System.out.println("Node [value=" + buf.getInt(node + KEY) + ", color=" + color + "]");
+    }
+
+    /** @return The number of nodes in the tree */
+    public int countNodes() {
+        arena();
+        return size;
+    }
+
+    boolean isRed(ByteBuffer buf, int node) {
+        return buf.get(node + COLOUR) == RED;
+    }
+
+    private void setRed(ByteBuffer buf, int node, boolean nodeColourRed) {
+        buf.put(node + COLOUR, nodeColourRed ? RED : BLACK);
+    }
+
+    ByteBuffer arena() {
+        if (arena == null)
+            throw new IllegalStateException("OffHeapRedBlackTree has been closed");
+        return arena;
+    }
+
+    /**
+     * Frees the native arena immediately rather than waiting for the buffer
+     * to be collected. The tree cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        ByteBuffer buf = arena;
+        if (buf == null)
+            return;
+
+        arena = null;
+        root = NIL;
+        size = 0;
+        freeDirect(buf);
+    }
+
+    /** Releases a direct buffer through sun.misc.Unsafe.invokeCleaner when it is available. */
+    private static void freeDirect(ByteBuffer buf) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(theUnsafe.get(null), buf);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // No explicit free on this JVM; the memory goes when the buffer is collected
+        }
+    }
+}
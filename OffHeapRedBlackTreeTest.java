@@ -0,0 +1,134 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class OffHeapRedBlackTreeTest {
+
+    /** @return The black height of the subtree, after checking it has no red-red pair */
+    private static int checkRedBlack(OffHeapRedBlackTree tree, ByteBuffer buf, int node, int parent) {
+        if (node == OffHeapRedBlackTree.NIL)
+            return 1;
+        if (parent != OffHeapRedBlackTree.NIL)
+            assertFalse("red node with red parent", tree.isRed(buf, node) && tree.isRed(buf, parent));
+
+        int leftHeight = checkRedBlack(tree, buf, buf.getInt(node + OffHeapRedBlackTree.LEFT), node);
+        int rightHeight = checkRedBlack(tree, buf, buf.getInt(node + OffHeapRedBlackTree.RIGHT), node);
+        assertEquals("unequal black heights", leftHeight, rightHeight);
+        return leftHeight + (tree.isRed(buf, node) ? 0 : 1);
+    }
+
+    private static void assertValid(OffHeapRedBlackTree tree) {
+        ByteBuffer buf = tree.arena();
+        if (tree.root != OffHeapRedBlackTree.NIL)
+            assertFalse("root must be black", tree.isRed(buf, tree.root));
+        checkRedBlack(tree, buf, tree.root, OffHeapRedBlackTree.NIL);
+    }
+
+    @Test
+    public void testInsertSearchAndCount() {
+        try (OffHeapRedBlackTree tree = new OffHeapRedBlackTree(100)) {
+            assertEquals(0, tree.countNodes());
+            assertFalse(tree.search(1));
+
+            for (int i = 0; i < 100; i += 2)
+                tree.insert(i);
+
+            assertEquals(50, tree.countNodes());
+            for (int i = 0; i < 100; i++)
+                assertEquals("search " + i, i % 2 == 0, tree.search(i));
+            assertEquals(100L * OffHeapRedBlackTree.RECORD_BYTES, tree.footprintBytes());
+        }
+    }
+
+    @Test
+    public void testInvariantsHold() {
+        Random random = new Random(2);
+        try (OffHeapRedBlackTree sorted = new OffHeapRedBlackTree(1000);
+                OffHeapRedBlackTree reverse = new OffHeapRedBlackTree(1000);
+                OffHeapRedBlackTree shuffled = new OffHeapRedBlackTree(1000)) {
+            for (int i = 0; i < 1000; i++) {
+                sorted.insert(i);
+                reverse.insert(1000 - i);
+                shuffled.insert(random.nextInt(500)); // Includes duplicates
+                assertValid(shuffled);
+            }
+            assertValid(sorted);
+            assertValid(reverse);
+            assertEquals(1000, shuffled.countNodes());
+        }
+    }
+
+    @Test
+    public void testNegativeKeysKeepTheirColour() {
+        // Keys next to the one-byte colour must not bleed into it
+        try (OffHeapRedBlackTree tree = new OffHeapRedBlackTree(64)) {
+            for (int i = 0; i < 64; i++)
+                tree.insert(-1 - i);
+            assertValid(tree);
+            for (int i = 0; i < 64; i++)
+                assertTrue(tree.search(-1 - i));
+        }
+    }
+
+    @Test
+    public void testFullArenaThrows() {
+        try (OffHeapRedBlackTree tree = new OffHeapRedBlackTree(3)) {
+            tree.insert(1);
+            tree.insert(2);
+            tree.insert(3);
+            try {
+                tree.insert(4);
+                fail("expected IllegalStateException");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            assertEquals(3, tree.countNodes());
+            assertFalse(tree.search(4));
+            assertValid(tree);
+        }
+    }
+
+    @Test
+    public void testUseAfterCloseThrows() {
+        OffHeapRedBlackTree tree = new OffHeapRedBlackTree(10);
+        tree.insert(1);
+        tree.close();
+        tree.close(); // A second close is a no-op
+
+        try {
+            tree.insert(2);
+            fail("expected IllegalStateException from insert");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            tree.search(1);
+            fail("expected IllegalStateException from search");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            tree.countNodes();
+            fail("expected IllegalStateException from countNodes");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRecordsStayAligned() {
+        // Every int field of every record must sit on a 4-byte boundary
+        assertEquals(0, OffHeapRedBlackTree.RECORD_BYTES % Integer.BYTES);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacityRejected() {
+        new OffHeapRedBlackTree(0);
+    }
+}
@@ -0,0 +1,177 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+/**
+ * Persistent (path-copying) Red-Black tree.
+ * Nodes are immutable and have no parent pointers. An insert copies only the
+ * nodes on the search path, rebalancing them as they are rebuilt, and shares
+ * every untouched subtree with the previous version. snapshot() therefore
+ * costs O(1) and readers of a snapshot need no locks.
+ */
+public class PersistentRedBlackTree<T extends Comparable<T>> {
+    // volatile so a reader always sees a completely built version.
+    // Package-private, like Node, so tests can check the invariants and sharing
+    volatile Node<T> root;
+
+    public PersistentRedBlackTree() {
+    }
+
+    private PersistentRedBlackTree(Node<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Inserts a value by building a new root along the copied path. Writers
+     * are serialised; readers and snapshots keep the version they started with.
+     */
+    public synchronized void insert(T value) {
+        Node<T> newRoot = insertRec(root, value);
+        root = newRoot.nodeColourRed ? new Node<T>(newRoot.value, newRoot.left, newRoot.right, false) : newRoot;
+    }
+
+    /** @return A new root for the subtree with value added (equal values go right) */
+    private Node<T> insertRec(Node<T> subTreeRoot, T value) {
+        if (subTreeRoot == null)
+            return new Node<T>(value, null, null, true); // New nodes default to red
+
+        if (value.compareTo(subTreeRoot.value) < 0)
+            return balance(subTreeRoot.value, insertRec(subTreeRoot.left, value), subTreeRoot.right,
+                    subTreeRoot.nodeColourRed);
+        return balance(subTreeRoot.value, subTreeRoot.left, insertRec(subTreeRoot.right, value),
+                subTreeRoot.nodeColourRed);
+    }
+
+    /**
+     * Builds a copy of a path node, fixing a red child with a red grandchild
+     * under a black node. Each of the four cases (LL, LR, RR, RL) becomes a
+     * red node with two black children, which is the rotation and recolouring
+     * handleRedBlack does in RedBlackTree.
+     */
+    private Node<T> balance(T value, Node<T> left, Node<T> right, boolean nodeColourRed) {
+        if (!nodeColourRed) {
+            if (isRed(left)) {
+                if (isRed(left.left)) // Left-Left case
+                    return new Node<T>(left.value,
+                            blackCopy(left.left),
+                            new Node<T>(value, left.right, right, false), true);
+                if (isRed(left.right)) // Left-Right case
+                    return new Node<T>(left.right.value,
+                            new Node<T>(left.value, left.left, left.right.left, false),
+                            new Node<T>(value, left.right.right, right, false), true);
+            }
+            if (isRed(right)) {
+                if (isRed(right.right)) // Right-Right case
+                    return new Node<T>(right.value,
+                            new Node<T>(value, left, right.left, false),
+                            blackCopy(right.right), true);
+                if (isRed(right.left)) // Right-Left case
+                    return new Node<T>(right.left.value,
+                            new Node<T>(value, left, right.left.left, false),
+                            new Node<T>(right.value, right.left.right, right.right, false), true);
+            }
+        }
+        return new Node<T>(value, left, right, nodeColourRed);
+    }
+
+    private static <T> Node<T> blackCopy(Node<T> node) {
+        return new Node<T>(node.value, node.left, node.right, false);
+    }
+
+    private static boolean isRed(Node<?> node) {
+        return node != null && node.nodeColourRed;
+    }
+
+    /**
+     * @return An independent tree that shares this version's nodes. Later
+     *         inserts into either tree never affect the other.
+     */
+    public PersistentRedBlackTree<T> snapshot() {
+        return new PersistentRedBlackTree<T>(root);
+    }
+
+    /** @return true if an equal value is stored in the tree */
+    public boolean contains(T value) {
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = value.compareTo(current.value);
+            if (cmp == 0)
+                return true;
+            current = (cmp < 0) ? current.left : current.right;
+        }
+        return false;
+    }
+
+    /** @return The number of nodes in the tree, in O(1) */
+    public int countNodes() {
+        Node<T> current = root;
+        return (current == null) ? 0 : current.size;
+    }
+
+    /** Traverse the tree in-order. */
+    public void inOrderTraversal() {
+        recInOrderTraversal(root);
+    }
+
+    public void preOrderTraversal() {
+        recPreOrderTraversal(root);
+    }
+
+    public void postOrderTraversal() {
+        recPostOrderTraversal(root);
+    }
+
+    private void recInOrderTraversal(Node<T> subTreeRoot) {
+        if (subTreeRoot == null)
+            return;
+
+        recInOrderTraversal(subTreeRoot.left);
+        processNode(subTreeRoot);
+        recInOrderTraversal(subTreeRoot.right);
+    }
+
+    private void recPreOrderTraversal(Node<T> subTreeRoot) {
+        if (subTreeRoot == null)
+            return;
+
+        processNode(subTreeRoot);
+        recPreOrderTraversal(subTreeRoot.left);
+        recPreOrderTraversal(subTreeRoot.right);
+    }
+
+    private void recPostOrderTraversal(Node<T> subTreeRoot) {
+        if (subTreeRoot == null)
+            return;
+
+        recPostOrderTraversal(subTreeRoot.left);
+        recPostOrderTraversal(subTreeRoot.right);
+        processNode(subTreeRoot);
+    }
+
+    /** Process a node - here we print it. */
+    private void processNode(Node<T> currNode) {
+        System.out.println(currNode.toString());
+    }
+
+    /////////////////////////////////////////////////////////////////
+    /** Immutable node: value, children, colour and subtree size. */
+    static final class Node<T> {
+        final T value;
+        final Node<T> left;
+        final Node<T> right;
+        final boolean nodeColourRed;
+        final int size;
+
+        Node(T value, Node<T> left, Node<T> right, boolean nodeColourRed) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.nodeColourRed = nodeColourRed;
+            this.size = 1 + ((left == null) ? 0 : left.size) + ((right == null) ? 0 : right.size);
+        }
+
+        @Override
+        public String toString() {
+            String color = nodeColourRed ? "RED" : "BLACK";
+            return "Node [value=" + value + ", color=" + color + "]";
+        }
+    }
+}
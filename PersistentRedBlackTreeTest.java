@@ -0,0 +1,149 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PersistentRedBlackTreeTest {
+
+    /** @return The black height of the subtree, after checking it has no red-red pair */
+    private static int checkRedBlack(PersistentRedBlackTree.Node<Integer> node, boolean parentRed) {
+        if (node == null)
+            return 1;
+        assertFalse("red node with red parent", node.nodeColourRed && parentRed);
+
+        int leftHeight = checkRedBlack(node.left, node.nodeColourRed);
+        int rightHeight = checkRedBlack(node.right, node.nodeColourRed);
+        assertEquals("unequal black heights", leftHeight, rightHeight);
+        return leftHeight + (node.nodeColourRed ? 0 : 1);
+    }
+
+    private static void assertValid(PersistentRedBlackTree<Integer> tree) {
+        if (tree.root != null)
+            assertFalse("root must be black", tree.root.nodeColourRed);
+        checkRedBlack(tree.root, false);
+    }
+
+    private static void inOrder(PersistentRedBlackTree.Node<Integer> node, List<Integer> out) {
+        if (node == null)
+            return;
+        inOrder(node.left, out);
+        out.add(node.value);
+        inOrder(node.right, out);
+    }
+
+    private static List<Integer> values(PersistentRedBlackTree<Integer> tree) {
+        List<Integer> out = new ArrayList<Integer>();
+        inOrder(tree.root, out);
+        return out;
+    }
+
+    private static void collect(PersistentRedBlackTree.Node<Integer> node,
+            Map<PersistentRedBlackTree.Node<Integer>, Boolean> nodes) {
+        if (node == null)
+            return;
+        nodes.put(node, Boolean.TRUE);
+        collect(node.left, nodes);
+        collect(node.right, nodes);
+    }
+
+    private static int height(PersistentRedBlackTree.Node<Integer> node) {
+        return (node == null) ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    @Test
+    public void testInsertAndContains() {
+        PersistentRedBlackTree<Integer> tree = new PersistentRedBlackTree<Integer>();
+        for (int i = 0; i < 1000; i++)
+            tree.insert(i);
+
+        assertEquals(1000, tree.countNodes());
+        for (int i = 0; i < 1000; i++)
+            assertTrue(tree.contains(i));
+        assertFalse(tree.contains(1000));
+    }
+
+    @Test
+    public void testInvariantsHold() {
+        Random random = new Random(11);
+        PersistentRedBlackTree<Integer> sorted = new PersistentRedBlackTree<Integer>();
+        PersistentRedBlackTree<Integer> reverse = new PersistentRedBlackTree<Integer>();
+        PersistentRedBlackTree<Integer> shuffled = new PersistentRedBlackTree<Integer>();
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            sorted.insert(i);
+            reverse.insert(1000 - i);
+            int value = random.nextInt(500); // Includes duplicates
+            shuffled.insert(value);
+            expected.add(value);
+            assertValid(shuffled);
+        }
+        assertValid(sorted);
+        assertValid(reverse);
+
+        Collections.sort(expected);
+        assertEquals(expected, values(shuffled));
+        assertEquals(1000, shuffled.countNodes());
+    }
+
+    @Test
+    public void testSnapshotIsStable() {
+        PersistentRedBlackTree<Integer> tree = new PersistentRedBlackTree<Integer>();
+        for (int i = 0; i < 100; i++)
+            tree.insert(i * 2);
+
+        PersistentRedBlackTree<Integer> snapshot = tree.snapshot();
+        for (int i = 0; i < 100; i++)
+            tree.insert(i * 2 + 1);
+        snapshot.insert(-1);
+
+        assertEquals(200, tree.countNodes());
+        assertEquals(101, snapshot.countNodes());
+        assertTrue(tree.contains(7));
+        assertFalse(snapshot.contains(7));
+        assertTrue(snapshot.contains(-1));
+        assertFalse(tree.contains(-1));
+        assertValid(tree);
+        assertValid(snapshot);
+    }
+
+    @Test
+    public void testOldVersionKeepsContentsAndSharesSubtrees() {
+        PersistentRedBlackTree<Integer> tree = new PersistentRedBlackTree<Integer>();
+        for (int i = 0; i < 1000; i++)
+            tree.insert(i * 2);
+        PersistentRedBlackTree<Integer> old = tree.snapshot();
+        List<Integer> before = values(old);
+
+        tree.insert(777);
+
+        // The old version is untouched
+        assertEquals(before, values(old));
+        assertEquals(1000, old.countNodes());
+        assertFalse(old.contains(777));
+        assertValid(old);
+
+        // Only the copied search path (plus a rebalance) is new; the rest is shared
+        Map<PersistentRedBlackTree.Node<Integer>, Boolean> oldNodes =
+                new IdentityHashMap<PersistentRedBlackTree.Node<Integer>, Boolean>();
+        Map<PersistentRedBlackTree.Node<Integer>, Boolean> newNodes =
+                new IdentityHashMap<PersistentRedBlackTree.Node<Integer>, Boolean>();
+        collect(old.root, oldNodes);
+        collect(tree.root, newNodes);
+        int fresh = 0;
+        for (PersistentRedBlackTree.Node<Integer> node : newNodes.keySet()) {
+            if (!oldNodes.containsKey(node))
+                fresh++;
+        }
+        assertEquals(1001, newNodes.size());
+        assertTrue("copied " + fresh + " nodes", fresh <= 2 * height(tree.root));
+        assertTrue(tree.root.left == old.root.left || tree.root.right == old.root.right);
+    }
+}
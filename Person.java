@@ -14,6 +14,18 @@ public class Person implements Comparable<Person> {
         this.age = age;
     }
 
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
     @Override
     public int compareTo(Person o) {
         // return Integer.compare(age, o.age);
@@ -7,12 +7,14 @@ public class RebBlackConsoleTester {
     public static void main(String[] args) {
 
         RedBlackTree<Integer> myTree = new RedBlackTree<Integer>();
+        RedBlackTreeMetrics metrics = myTree.enableMetrics();
         myTree.preOrderTraversal();
         myTree.insert(1);
         myTree.insert(2);
         myTree.insert(3);
         System.out.println("Pre-order traversal:");
         myTree.preOrderTraversal();
+        System.out.println(metrics.snapshot());
 
     }
 
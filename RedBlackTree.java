@@ -2,9 +2,38 @@
 
 //package com.adsg.tree;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
 /** @author Oisin Gibson */
-public class RedBlackTree<T extends Comparable<T>> {
+public class RedBlackTree<T extends Comparable<T>> implements Iterable<T> {
     protected Node root;
+    private RedBlackTreeMetrics metrics; // null while metrics are disabled
+    private List<RedBlackTreeListener<? super T>> listeners; // null while none are registered
 
     /** Inserts a value into the tree and applies Red-Black balancing. */
     public void insert(T value) {
@@ -12,7 +41,13 @@ public class RedBlackTree<T extends Comparable<T>> {
 
         if (root == null) {
             root = node;
-            node.nodeColourRed = false;
+            if (listeners != null)
+                fireInserted(value);
+            setColour(node, false);
+            if (metrics != null)
+                metrics.recordInsert(0);
+            if (listeners != null)
+                fireOperationCompleted();
             return;
         }
 
@@ -20,8 +55,58 @@ public class RedBlackTree<T extends Comparable<T>> {
         handleRedBlack(node); // Apply Red-Black balancing
     }
 
-    /** Recursively inserts a node into the BST and sets parent references. */
+    /**
+     * Builds a perfectly balanced tree from values in ascending order in O(n),
+     * with no comparisons against the tree and no rotations. A list without
+     * fast random access, such as a LinkedList, is copied to an array first.
+     * @throws IllegalArgumentException if the values are not in ascending order
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> fromSorted(List<? extends T> values) {
+        List<? extends T> sorted = (values instanceof RandomAccess) ? values : new ArrayList<T>(values);
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).compareTo(sorted.get(i - 1)) < 0)
+                throw new IllegalArgumentException("Values are not sorted at index " + i);
+        }
+
+        RedBlackTree<T> tree = new RedBlackTree<T>();
+        int n = sorted.size();
+        if (n > 0) {
+            // Every level above the deepest is full, so only the deepest level is red
+            int redDepth = 31 - Integer.numberOfLeadingZeros(n);
+            tree.root = tree.buildBalanced(sorted, 0, n - 1, 0, redDepth);
+        }
+        return tree;
+    }
+
+    /** Drains an ascending iterator and builds the tree with fromSorted. */
+    public static <T extends Comparable<T>> RedBlackTree<T> bulkLoad(Iterator<? extends T> sorted) {
+        List<T> values = new ArrayList<T>();
+        while (sorted.hasNext())
+            values.add(sorted.next());
+        return fromSorted(values);
+    }
+
+    /** Builds the subtree for sorted[lo..hi] around its middle element, colouring by depth. */
+    private Node buildBalanced(List<? extends T> sorted, int lo, int hi, int depth, int redDepth) {
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(sorted.get(mid));
+        node.nodeColourRed = depth == redDepth && depth > 0;
+        node.size = hi - lo + 1;
+
+        if (lo < mid) {
+            node.left = buildBalanced(sorted, lo, mid - 1, depth + 1, redDepth);
+            node.left.parent = node;
+        }
+        if (mid < hi) {
+            node.right = buildBalanced(sorted, mid + 1, hi, depth + 1, redDepth);
+            node.right.parent = node;
+        }
+        return node;
+    }
+
+    /** Recursively inserts a node into the BST and sets parent references and subtree sizes. */
     protected void insertRec(Node subTreeRoot, Node node) {
+        subTreeRoot.size++; // node will end up below subTreeRoot
         if (node.value.compareTo(subTreeRoot.value) < 0) {
             if (subTreeRoot.left == null) {
                 subTreeRoot.left = node;
@@ -43,48 +128,157 @@ public class RedBlackTree<T extends Comparable<T>> {
 
     // Handle Red-Black violations after insertion
     void handleRedBlack(Node newNode) {
+        if (listeners != null)
+            fireInserted(newNode.value);
+        int depth = handleRedBlack(newNode, 1);
+        if (metrics != null)
+            metrics.recordInsert(depth);
+        if (listeners != null)
+            fireOperationCompleted();
+    }
+
+    /** @return The recursion depth reached, counting this call as `depth` */
+    private int handleRedBlack(Node newNode, int depth) {
         if (newNode == root) {
-            newNode.nodeColourRed = false;
-            return;
+            setColour(newNode, false);
+            return depth;
         }
 
         Node parent = newNode.parent;
         Node grandParent = (parent != null) ? parent.parent : null;
 
         if (grandParent == null)
-            return;
+            return depth;
 
         if (!parent.nodeColourRed)
-            return;
+            return depth;
 
         Node uncle = uncleOnRightTree(newNode) ? getRightUncle(newNode) : getLeftUncle(newNode);
 
         // Red Uncle - Recolor and recurse upward
         if (uncle != null && uncle.nodeColourRed) {
-            parent.nodeColourRed = false;
-            uncle.nodeColourRed = false;
-            grandParent.nodeColourRed = true;
-            handleRedBlack(grandParent);
-            return;
+            setColour(parent, false);
+            setColour(uncle, false);
+            setColour(grandParent, true);
+            if (metrics != null)
+                metrics.recordRecolour();
+            return handleRedBlack(grandParent, depth + 1);
         } else if ((uncle == null) || !uncle.nodeColourRed) {
             // Black uncle - Apply rotation cases
             if (parent == grandParent.left && newNode == parent.left) {
-                System.out.println("Left-Left case detected");
+                if (metrics != null)
+                    metrics.recordRotation(RedBlackTreeMetrics.RotationCase.LEFT_LEFT);
                 applyLeftLeftCase(grandParent);
             } else if (parent == grandParent.left && newNode == parent.right) {
-                System.out.println("Left-Right case detected");
+                if (metrics != null)
+                    metrics.recordRotation(RedBlackTreeMetrics.RotationCase.LEFT_RIGHT);
                 applyLeftRightCase(parent, grandParent);
             } else if (parent == grandParent.right && newNode == parent.right) {
-                System.out.println("Right-Right case detected");
+                if (metrics != null)
+                    metrics.recordRotation(RedBlackTreeMetrics.RotationCase.RIGHT_RIGHT);
                 applyRightRightCase(grandParent);
             } else if (parent == grandParent.right && newNode == parent.left) {
-                System.out.println("Right-Left case detected");
+                if (metrics != null)
+                    metrics.recordRotation(RedBlackTreeMetrics.RotationCase.RIGHT_LEFT);
                 applyRightLeftCase(parent, grandParent);
             }
+        }
+        return depth;
+    }
+
+    /**
+     * Starts counting rotations, recolourings and fix-up depth on inserts.
+     * @return The tree's metrics (the same instance until disableMetrics is called)
+     */
+    public RedBlackTreeMetrics enableMetrics() {
+        if (metrics == null)
+            metrics = new RedBlackTreeMetrics(this);
+        return metrics;
+    }
+
+    /** Stops collecting metrics; inserts go back to a single null check. */
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    /** Starts reporting changes to listener, after any listeners already registered. */
+    public void addListener(RedBlackTreeListener<? super T> listener) {
+        if (listener == null)
+            throw new NullPointerException("listener");
+        if (listeners == null)
+            listeners = new ArrayList<RedBlackTreeListener<? super T>>(1);
+        listeners.add(listener);
+    }
+
+    /** Stops reporting to listener; once none are left, changes cost a single null check again. */
+    public void removeListener(RedBlackTreeListener<? super T> listener) {
+        if (listeners != null && listeners.remove(listener) && listeners.isEmpty())
+            listeners = null;
+    }
+
+    /** Sets node's colour, reporting it to the listeners if it changed. */
+    private void setColour(Node node, boolean red) {
+        if (node.nodeColourRed == red)
             return;
+        node.nodeColourRed = red;
+        if (listeners != null) {
+            for (RedBlackTreeListener<? super T> listener : listeners)
+                listener.recoloured(node.value, red);
         }
     }
 
+    private void fireInserted(T value) {
+        for (RedBlackTreeListener<? super T> listener : listeners)
+            listener.inserted(value);
+    }
+
+    private void fireRemoved(T value) {
+        for (RedBlackTreeListener<? super T> listener : listeners)
+            listener.removed(value);
+    }
+
+    private void fireRotated(T value, boolean left) {
+        for (RedBlackTreeListener<? super T> listener : listeners) {
+            if (left)
+                listener.rotatedLeft(value);
+            else
+                listener.rotatedRight(value);
+        }
+    }
+
+    private void fireCleared() {
+        for (RedBlackTreeListener<? super T> listener : listeners)
+            listener.cleared();
+    }
+
+    private void fireOperationCompleted() {
+        for (RedBlackTreeListener<? super T> listener : listeners)
+            listener.operationCompleted();
+    }
+
+    /** Empties the tree without touching its nodes, which a bulk operation may have moved elsewhere. */
+    private void detachRoot() {
+        root = null;
+        if (listeners != null)
+            fireCleared();
+    }
+
+    /** @return Edges on the longest root-to-leaf path, or -1 for an empty tree */
+    public int height() {
+        return recHeight(root);
+    }
+
+    private int recHeight(Node subTreeRoot) {
+        if (subTreeRoot == null)
+            return -1;
+        return 1 + Math.max(recHeight(subTreeRoot.left), recHeight(subTreeRoot.right));
+    }
+
+    /** @return Black nodes on any root-to-leaf path (every path has the same count) */
+    public int blackHeight() {
+        return blackHeight(root);
+    }
+
     private boolean uncleOnRightTree(Node node) {
         Node parent = node.parent;
         Node grandParent = parent.parent;
@@ -105,45 +299,540 @@ public class RedBlackTree<T extends Comparable<T>> {
         return node.parent.parent.right;
     }
 
+    /**
+     * Removes one occurrence of value and restores the Red-Black properties.
+     * @return true if a node was removed
+     */
+    public boolean remove(T value) {
+        Node node = findNode(value);
+        if (node == null)
+            return false;
+
+        deleteNode(node);
+        return true;
+    }
+
+    /** Removes and returns the smallest value, or null if the tree is empty. */
+    public T pollFirst() {
+        if (root == null)
+            return null;
+
+        Node node = minNode(root);
+        T value = node.value;
+        deleteNode(node);
+        return value;
+    }
+
+    /** Removes and returns the largest value, or null if the tree is empty. */
+    public T pollLast() {
+        if (root == null)
+            return null;
+
+        Node node = maxNode(root);
+        T value = node.value;
+        deleteNode(node);
+        return value;
+    }
+
+    /** @return true if an equal value is stored in the tree */
+    public boolean contains(T value) {
+        return findNode(value) != null;
+    }
+
+    /** @return The stored value equal to value, or null if there is none */
+    public T get(T value) {
+        return valueOf(findNode(value));
+    }
+
+    /** @return The greatest value less than or equal to value, or null */
+    public T floor(T value) {
+        return valueOf(floorNode(value));
+    }
+
+    /** @return The least value greater than or equal to value, or null */
+    public T ceiling(T value) {
+        return valueOf(ceilingNode(value));
+    }
+
+    /** @return The greatest value strictly less than value, or null */
+    public T lower(T value) {
+        return valueOf(lowerNode(value));
+    }
+
+    /** @return The least value strictly greater than value, or null */
+    public T higher(T value) {
+        return valueOf(higherNode(value));
+    }
+
+    private T valueOf(Node node) {
+        return (node == null) ? null : node.value;
+    }
+
+    /** Iterative BST search for a node holding an equal value. */
+    Node findNode(T value) {
+        Node current = root;
+        while (current != null) {
+            int cmp = value.compareTo(current.value);
+            if (cmp == 0)
+                return current;
+            current = (cmp < 0) ? current.left : current.right;
+        }
+        return null;
+    }
+
+    Node floorNode(T value) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            int cmp = value.compareTo(current.value);
+            if (cmp == 0)
+                return current;
+            if (cmp < 0) {
+                current = current.left;
+            } else {
+                best = current;
+                current = current.right;
+            }
+        }
+        return best;
+    }
+
+    Node ceilingNode(T value) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            int cmp = value.compareTo(current.value);
+            if (cmp == 0)
+                return current;
+            if (cmp > 0) {
+                current = current.right;
+            } else {
+                best = current;
+                current = current.left;
+            }
+        }
+        return best;
+    }
+
+    Node lowerNode(T value) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            if (value.compareTo(current.value) <= 0) {
+                current = current.left;
+            } else {
+                best = current;
+                current = current.right;
+            }
+        }
+        return best;
+    }
+
+    Node higherNode(T value) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            if (value.compareTo(current.value) >= 0) {
+                current = current.right;
+            } else {
+                best = current;
+                current = current.left;
+            }
+        }
+        return best;
+    }
+
+    private Node minNode(Node subTreeRoot) {
+        while (subTreeRoot.left != null)
+            subTreeRoot = subTreeRoot.left;
+        return subTreeRoot;
+    }
+
+    private Node maxNode(Node subTreeRoot) {
+        while (subTreeRoot.right != null)
+            subTreeRoot = subTreeRoot.right;
+        return subTreeRoot;
+    }
+
+    /** Unlinks node from the tree, applying the double-black fix-up when a black leaf goes. */
+    void deleteNode(Node node) {
+        if (listeners != null)
+            fireRemoved(node.value);
+
+        // Two children - take the in-order successor's value and delete the successor instead
+        if (node.left != null && node.right != null) {
+            Node successor = minNode(node.right);
+            node.value = successor.value;
+            // To a listener the successor's value has moved into a node of node's colour
+            if (listeners != null && node.nodeColourRed != successor.nodeColourRed) {
+                for (RedBlackTreeListener<? super T> listener : listeners)
+                    listener.recoloured(node.value, node.nodeColourRed);
+            }
+            node = successor;
+        }
+
+        Node child = (node.left != null) ? node.left : node.right;
+        Node parent = node.parent;
+
+        if (child != null) {
+            // A node with a single child is black and the child is red
+            updateParentReferences(node, child, parent);
+            setColour(child, false);
+        } else if (parent == null) {
+            root = null;
+        } else {
+            // Fix up while the leaf still holds its place, then cut it off
+            if (!node.nodeColourRed)
+                handleDoubleBlack(node);
+
+            parent = node.parent;
+            if (parent.left == node)
+                parent.left = null;
+            else
+                parent.right = null;
+        }
+
+        for (Node ancestor = parent; ancestor != null; ancestor = ancestor.parent)
+            ancestor.size--;
+
+        // Drop every reference so removed nodes (and what they point at) can be collected
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        node.value = null;
+
+        if (listeners != null)
+            fireOperationCompleted();
+    }
+
+    // Handle a double-black deficit at node after a black leaf is removed
+    private void handleDoubleBlack(Node node) {
+        while (node != root && !node.nodeColourRed) {
+            Node parent = node.parent;
+
+            if (node == parent.left) {
+                Node sibling = parent.right;
+
+                // Red sibling - rotate it up so the sibling becomes black
+                if (sibling.nodeColourRed) {
+                    setColour(sibling, false);
+                    setColour(parent, true);
+                    rotateLeftAt(parent);
+                    sibling = parent.right;
+                }
+
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    // Black sibling with black children - recolour and push the deficit up
+                    setColour(sibling, true);
+                    node = parent;
+                } else {
+                    // Near nephew red, far nephew black - rotate so the far nephew is red
+                    if (!isRed(sibling.right)) {
+                        setColour(sibling.left, false);
+                        setColour(sibling, true);
+                        rotateRightAt(sibling);
+                        sibling = parent.right;
+                    }
+
+                    // Far nephew red - rotate parent and finish
+                    setColour(sibling, parent.nodeColourRed);
+                    setColour(parent, false);
+                    setColour(sibling.right, false);
+                    rotateLeftAt(parent);
+                    node = root;
+                }
+            } else {
+                Node sibling = parent.left;
+
+                if (sibling.nodeColourRed) {
+                    setColour(sibling, false);
+                    setColour(parent, true);
+                    rotateRightAt(parent);
+                    sibling = parent.left;
+                }
+
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    setColour(sibling, true);
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.left)) {
+                        setColour(sibling.right, false);
+                        setColour(sibling, true);
+                        rotateLeftAt(sibling);
+                        sibling = parent.left;
+                    }
+
+                    setColour(sibling, parent.nodeColourRed);
+                    setColour(parent, false);
+                    setColour(sibling.left, false);
+                    rotateRightAt(parent);
+                    node = root;
+                }
+            }
+        }
+        setColour(node, false);
+    }
+
+    private boolean isRed(Node node) {
+        return node != null && node.nodeColourRed;
+    }
+
+    /** Left-rotates the subtree at node and relinks it into node's parent. */
+    private void rotateLeftAt(Node node) {
+        Node parent = node.parent;
+        updateParentReferences(node, rotateSubTreeLeft(node), parent);
+    }
+
+    /** Right-rotates the subtree at node and relinks it into node's parent. */
+    private void rotateRightAt(Node node) {
+        Node parent = node.parent;
+        updateParentReferences(node, rotateSubTreeRight(node), parent);
+    }
+
+    /**
+     * Lazy in-order iterator. It walks parent pointers, so it holds a single
+     * node reference and allocates nothing per element. The tree must not be
+     * modified while iterating.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new InOrderIterator((root == null) ? null : minNode(root));
+    }
+
+    /**
+     * Sized, sorted spliterator over the values in order. Splits happen at the
+     * highest node inside the remaining range, i.e. at subtree boundaries.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new TreeSpliterator(0, size(), null);
+    }
+
+    /** @return A sequential stream of the values in order; call parallel() to split it */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return An immutable copy of the values laid out for fast lookups. Integer
+     *         keys are stored in a primitive array (the result is a FrozenIntTree).
+     */
+    @SuppressWarnings("unchecked")
+    public FrozenTree<T> freeze() {
+        if (root != null && root.value instanceof Integer)
+            return (FrozenTree<T>) (FrozenTree<?>) FrozenIntTree.fromSortedInts((Iterable<Integer>) (Iterable<?>) this, size());
+        return FrozenTree.fromSorted(this, size());
+    }
+
+    /** @return The in-order successor of node, or null if node holds the largest value */
+    Node successor(Node node) {
+        if (node.right != null)
+            return minNode(node.right);
+
+        Node parent = node.parent;
+        while (parent != null && node == parent.right) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /** @return The in-order predecessor of node, or null if node holds the smallest value */
+    Node predecessor(Node node) {
+        if (node.left != null)
+            return maxNode(node.left);
+
+        Node parent = node.parent;
+        while (parent != null && node == parent.left) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /** @return The node holding the smallest value, or null if the tree is empty */
+    Node firstNode() {
+        return (root == null) ? null : minNode(root);
+    }
+
+    /** @return The node holding the largest value, or null if the tree is empty */
+    Node lastNode() {
+        return (root == null) ? null : maxNode(root);
+    }
+
+    private class InOrderIterator implements Iterator<T> {
+        private Node next;
+
+        InOrderIterator(Node first) {
+            next = first;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null)
+                throw new NoSuchElementException();
+
+            Node current = next;
+            next = successor(current);
+            return current.value;
+        }
+    }
+
+    /** Covers the positions [from, to) in sorted order; current is the node at from once located. */
+    private class TreeSpliterator implements Spliterator<T> {
+        private int from;
+        private final int to;
+        private Node current;
+
+        TreeSpliterator(int from, int to, Node current) {
+            this.from = from;
+            this.to = to;
+            this.current = current;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to)
+                return false;
+
+            if (current == null)
+                current = nodeAt(from);
+            action.accept(current.value);
+            current = successor(current);
+            from++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (from >= to)
+                return;
+
+            Node node = (current == null) ? nodeAt(from) : current;
+            for (; from < to; from++) {
+                action.accept(node.value);
+                node = successor(node);
+            }
+            current = node;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            // Find the highest node whose position lies strictly inside (from, to)
+            Node node = root;
+            int base = 0;
+            while (node != null) {
+                int position = base + size(node.left);
+                if (position <= from) {
+                    base = position + 1;
+                    node = node.right;
+                } else if (position >= to) {
+                    node = node.left;
+                } else {
+                    TreeSpliterator prefix = new TreeSpliterator(from, position, current);
+                    from = position;
+                    current = node;
+                    return prefix;
+                }
+            }
+            return null; // Fewer than two elements left
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return null; // Natural ordering
+        }
+    }
+
+    /////////////// Traversals //////////////////////////////////////
+    // Each walk follows the parent pointers, so it needs no stack and no
+    // per-node allocation however deep the tree is.
+
     /** Traverse the tree in-order. */
     public void inOrderTraversal() {
-        recInOrderTraversal(root);
+        for (Node node = firstNode(); node != null; node = successor(node))
+            processNode(node);
     }
 
     public void preOrderTraversal() {
-        recPreOrderTraversal(root);
+        for (Node node = root; node != null; node = preOrderNext(node))
+            processNode(node);
     }
 
     public void postOrderTraversal() {
-        recPostOrderTraversal(root);
+        for (Node node = postOrderFirst(root); node != null; node = postOrderNext(node))
+            processNode(node);
     }
 
-    /** Recursively process the tree in-order. */
-    private void recInOrderTraversal(Node subTreeRoot) {
-        if (subTreeRoot == null)
-            return;
+    /** Passes each value to action in ascending order. */
+    public void inOrderTraversal(Consumer<? super T> action) {
+        for (Node node = firstNode(); node != null; node = successor(node))
+            action.accept(node.value);
+    }
 
-        recInOrderTraversal(subTreeRoot.left);
-        processNode(subTreeRoot);
-        recInOrderTraversal(subTreeRoot.right);
+    /** Passes each value to action, parents before their children. */
+    public void preOrderTraversal(Consumer<? super T> action) {
+        for (Node node = root; node != null; node = preOrderNext(node))
+            action.accept(node.value);
     }
 
-    private void recPreOrderTraversal(Node subTreeRoot) {
-        if (subTreeRoot == null)
-            return;
+    /** Passes each value to action, children before their parents. */
+    public void postOrderTraversal(Consumer<? super T> action) {
+        for (Node node = postOrderFirst(root); node != null; node = postOrderNext(node))
+            action.accept(node.value);
+    }
 
-        processNode(subTreeRoot);
-        recPreOrderTraversal(subTreeRoot.left);
-        recPreOrderTraversal(subTreeRoot.right);
+    /** @return The node after node in pre-order, or null */
+    private Node preOrderNext(Node node) {
+        if (node.left != null)
+            return node.left;
+        if (node.right != null)
+            return node.right;
+
+        // Climb to the nearest ancestor reached from its left with a right subtree still to visit
+        Node parent = node.parent;
+        while (parent != null && (node == parent.right || parent.right == null)) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return (parent == null) ? null : parent.right;
     }
 
-    private void recPostOrderTraversal(Node subTreeRoot) {
-        if (subTreeRoot == null)
-            return;
+    /** @return The first node of subTreeRoot in post-order: its leftmost leaf, or null */
+    private Node postOrderFirst(Node subTreeRoot) {
+        Node node = subTreeRoot;
+        while (node != null) {
+            if (node.left != null)
+                node = node.left;
+            else if (node.right != null)
+                node = node.right;
+            else
+                return node;
+        }
+        return null;
+    }
 
-        recPostOrderTraversal(subTreeRoot.left);
-        recPostOrderTraversal(subTreeRoot.right);
-        processNode(subTreeRoot);
+    /** @return The node after node in post-order, or null */
+    private Node postOrderNext(Node node) {
+        Node parent = node.parent;
+        if (parent != null && node == parent.left && parent.right != null)
+            return postOrderFirst(parent.right);
+        return parent;
     }
 
     /** Process a node - here we print it. */
@@ -151,17 +840,558 @@ public class RedBlackTree<T extends Comparable<T>> {
         System.out.println(currNode.toString());
     }
 
-    /** @return The number of nodes in the tree */
+    /** @return The number of nodes in the tree, read from the root's subtree size in O(1) */
     public int countNodes() {
-        return recCountNodes(root);
+        return size();
     }
 
-    /** Pre-order traversal example - count nodes recursively. */
-    private int recCountNodes(Node subTreeRoot) {
-        if (subTreeRoot == null)
+    /** Removes every value from the tree. */
+    public void clear() {
+        detachRoot();
+    }
+
+    /** @return The number of values in the tree in O(1) */
+    public int size() {
+        return size(root);
+    }
+
+    /** @return The number of values strictly less than value */
+    public int rank(T value) {
+        int rank = 0;
+        Node current = root;
+        while (current != null) {
+            if (value.compareTo(current.value) <= 0) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    /** @return The number of values less than or equal to value */
+    int rankInclusive(T value) {
+        int rank = 0;
+        Node current = root;
+        while (current != null) {
+            if (value.compareTo(current.value) < 0) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * @param k Zero-based position in sorted order
+     * @return The k-th smallest value
+     * @throws IndexOutOfBoundsException if k is not in [0, size())
+     */
+    public T select(int k) {
+        if (k < 0 || k >= size())
+            throw new IndexOutOfBoundsException("k=" + k + ", size=" + size());
+
+        return nodeAt(k).value;
+    }
+
+    /** Descends by subtree sizes to the node at zero-based position k (which must be in range). */
+    private Node nodeAt(int k) {
+        Node current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (k < leftSize) {
+                current = current.left;
+            } else if (k == leftSize) {
+                return current;
+            } else {
+                k -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    /** @return The number of values v with lo <= v <= hi */
+    public int countInRange(T lo, T hi) {
+        if (lo.compareTo(hi) > 0)
             return 0;
+        return rankInclusive(hi) - rank(lo);
+    }
+
+    private int size(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    /////////////////////////////////////////////////////////////////
+    // Join-based split and set operations. These treat the trees as sets
+    // (no duplicate values) and consume their inputs: nodes are moved,
+    // not copied, and the input trees are left empty.
+
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+
+    // Below this many combined nodes the parallel versions stop forking
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    /** Result of split: the values below and above the key, and whether the key was present. */
+    public static final class SplitResult<T extends Comparable<T>> {
+        public final RedBlackTree<T> lower;
+        public final boolean found;
+        public final RedBlackTree<T> higher;
+
+        private SplitResult(RedBlackTree<T> lower, boolean found, RedBlackTree<T> higher) {
+            this.lower = lower;
+            this.found = found;
+            this.higher = higher;
+        }
+    }
+
+    /** Detached pieces of a split, with their black heights; middle is the node equal to the key, if any. */
+    private final class SplitParts {
+        Node left;
+        int leftHeight;
+        Node middle;
+        Node right;
+        int rightHeight;
+    }
+
+    /** A detached subtree root and its black height, so joins never have to measure it. */
+    private final class Subtree {
+        final Node root;
+        final int blackHeight;
+
+        Subtree(Node root, int blackHeight) {
+            this.root = root;
+            this.blackHeight = blackHeight;
+        }
+    }
+
+    /**
+     * Splits this tree around key in O(log n). This tree is left empty.
+     * @return The values less than key, whether key was present, and the values greater than key
+     */
+    public SplitResult<T> split(T key) {
+        SplitParts parts = splitNodes(detach(root), blackHeight(root), key);
+        detachRoot();
+        return new SplitResult<T>(treeOf(parts.left), parts.middle != null, treeOf(parts.right));
+    }
+
+    /**
+     * Joins two trees around a middle key without comparing their contents.
+     * Both trees are left empty.
+     * @throws IllegalArgumentException unless every value in left < key < every value in right
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> join(RedBlackTree<T> left, T key, RedBlackTree<T> right) {
+        if ((left.root != null && left.lastNode().value.compareTo(key) >= 0)
+                || (right.root != null && right.firstNode().value.compareTo(key) <= 0))
+            throw new IllegalArgumentException("join requires left < key < right");
+
+        RedBlackTree<T> result = new RedBlackTree<T>();
+        result.root = result.joinNodes(detach(left.root), result.blackHeight(left.root), result.new Node(key),
+                detach(right.root), result.blackHeight(right.root)).root;
+        left.detachRoot();
+        right.detachRoot();
+        return result;
+    }
+
+    /** @return Every value in a or b; both inputs are left empty */
+    public static <T extends Comparable<T>> RedBlackTree<T> union(RedBlackTree<T> a, RedBlackTree<T> b) {
+        return setOperation(UNION, a, b, false);
+    }
+
+    /** @return The values in both a and b; both inputs are left empty */
+    public static <T extends Comparable<T>> RedBlackTree<T> intersection(RedBlackTree<T> a, RedBlackTree<T> b) {
+        return setOperation(INTERSECTION, a, b, false);
+    }
+
+    /** @return The values in a that are not in b; both inputs are left empty */
+    public static <T extends Comparable<T>> RedBlackTree<T> difference(RedBlackTree<T> a, RedBlackTree<T> b) {
+        return setOperation(DIFFERENCE, a, b, false);
+    }
+
+    /** union, with the two recursive halves run in parallel on the common fork-join pool */
+    public static <T extends Comparable<T>> RedBlackTree<T> parallelUnion(RedBlackTree<T> a, RedBlackTree<T> b) {
+        return setOperation(UNION, a, b, true);
+    }
+
+    /** intersection, with the two recursive halves run in parallel on the common fork-join pool */
+    public static <T extends Comparable<T>> RedBlackTree<T> parallelIntersection(RedBlackTree<T> a,
+            RedBlackTree<T> b) {
+        return setOperation(INTERSECTION, a, b, true);
+    }
+
+    /** difference, with the two recursive halves run in parallel on the common fork-join pool */
+    public static <T extends Comparable<T>> RedBlackTree<T> parallelDifference(RedBlackTree<T> a,
+            RedBlackTree<T> b) {
+        return setOperation(DIFFERENCE, a, b, true);
+    }
+
+    private static <T extends Comparable<T>> RedBlackTree<T> setOperation(int op, RedBlackTree<T> a,
+            RedBlackTree<T> b, boolean parallel) {
+        RedBlackTree<T> result = new RedBlackTree<T>();
+        result.root = result.combine(op, a, b, parallel);
+        return result;
+    }
+
+    /** Detaches the roots of a and b (leaving both empty) and combines them. */
+    private Node combine(int op, RedBlackTree<T> a, RedBlackTree<T> b, boolean parallel) {
+        Node aRoot = detach(a.root);
+        Node bRoot = detach(b.root);
+        a.detachRoot();
+        b.detachRoot();
+
+        // The black heights are measured once here and carried through every split and join
+        Subtree result = parallel
+                ? ForkJoinPool.commonPool().invoke(new SetOperationTask(op, aRoot, blackHeight(aRoot), bRoot,
+                        blackHeight(bRoot)))
+                : combine(op, aRoot, blackHeight(aRoot), bRoot, blackHeight(bRoot), false);
+        return result.root;
+    }
+
+    /**
+     * Splits one tree by the other's root value and recurses on the two
+     * halves, then joins the results back together around that root.
+     * aHeight and bHeight are the black heights of a and b.
+     */
+    private Subtree combine(int op, Node a, int aHeight, Node b, int bHeight, boolean parallel) {
+        if (a == null)
+            return (op == UNION) ? new Subtree(b, bHeight) : new Subtree(null, 0);
+        if (b == null)
+            return (op == INTERSECTION) ? new Subtree(null, 0) : new Subtree(a, aHeight);
+
+        boolean fork = parallel && a.size + b.size > PARALLEL_THRESHOLD;
+
+        // Difference removes b's values from a, so it splits a by b's root instead
+        Node pivot = (op == DIFFERENCE) ? b : a;
+        Node other = (op == DIFFERENCE) ? a : b;
+        int childHeight = childHeight(pivot, (op == DIFFERENCE) ? bHeight : aHeight);
+        Node pivotLeft = detach(pivot.left);
+        Node pivotRight = detach(pivot.right);
+        SplitParts parts = splitNodes(other, (op == DIFFERENCE) ? aHeight : bHeight, pivot.value);
+
+        Subtree left;
+        Subtree right;
+        if (fork) {
+            SetOperationTask task = (op == DIFFERENCE)
+                    ? new SetOperationTask(op, parts.left, parts.leftHeight, pivotLeft, childHeight)
+                    : new SetOperationTask(op, pivotLeft, childHeight, parts.left, parts.leftHeight);
+            task.fork();
+            right = (op == DIFFERENCE)
+                    ? combine(op, parts.right, parts.rightHeight, pivotRight, childHeight, true)
+                    : combine(op, pivotRight, childHeight, parts.right, parts.rightHeight, true);
+            left = task.join();
+        } else if (op == DIFFERENCE) {
+            left = combine(op, parts.left, parts.leftHeight, pivotLeft, childHeight, parallel);
+            right = combine(op, parts.right, parts.rightHeight, pivotRight, childHeight, parallel);
+        } else {
+            left = combine(op, pivotLeft, childHeight, parts.left, parts.leftHeight, parallel);
+            right = combine(op, pivotRight, childHeight, parts.right, parts.rightHeight, parallel);
+        }
+
+        if (op == UNION || (op == INTERSECTION && parts.middle != null))
+            return joinNodes(left.root, left.blackHeight, pivot, right.root, right.blackHeight);
+        return join2(left.root, left.blackHeight, right.root, right.blackHeight);
+    }
+
+    private final class SetOperationTask extends RecursiveTask<Subtree> {
+        private static final long serialVersionUID = 1L;
+
+        private final int op;
+        private final Node a;
+        private final int aHeight;
+        private final Node b;
+        private final int bHeight;
+
+        SetOperationTask(int op, Node a, int aHeight, Node b, int bHeight) {
+            this.op = op;
+            this.a = a;
+            this.aHeight = aHeight;
+            this.b = b;
+            this.bHeight = bHeight;
+        }
+
+        @Override
+        protected Subtree compute() {
+            return combine(op, a, aHeight, b, bHeight, true);
+        }
+    }
+
+    /** Splits the detached subtree t, of black height tHeight, around key into detached pieces. */
+    private SplitParts splitNodes(Node t, int tHeight, T key) {
+        if (t == null)
+            return new SplitParts();
+
+        int childHeight = childHeight(t, tHeight); // Read before a join recolours t
+        Node left = detach(t.left);
+        Node right = detach(t.right);
+        int cmp = key.compareTo(t.value);
+
+        if (cmp == 0) {
+            SplitParts parts = new SplitParts();
+            parts.left = left;
+            parts.leftHeight = childHeight;
+            parts.right = right;
+            parts.rightHeight = childHeight;
+            parts.middle = t;
+            t.left = null;
+            t.right = null;
+            t.size = 1;
+            return parts;
+        }
+
+        if (cmp < 0) {
+            SplitParts parts = splitNodes(left, childHeight, key);
+            Subtree joined = joinNodes(parts.right, parts.rightHeight, t, right, childHeight);
+            parts.right = joined.root;
+            parts.rightHeight = joined.blackHeight;
+            return parts;
+        }
+
+        SplitParts parts = splitNodes(right, childHeight, key);
+        Subtree joined = joinNodes(left, childHeight, t, parts.left, parts.leftHeight);
+        parts.left = joined.root;
+        parts.leftHeight = joined.blackHeight;
+        return parts;
+    }
+
+    /**
+     * Joins detached subtrees l < k < r, of black heights leftHeight and
+     * rightHeight, into one valid tree and returns its (black, detached) root
+     * and black height. k is linked in where the taller tree's spine reaches
+     * the shorter tree's black-height, then red-red pairs are repaired on the
+     * way back up, so a join costs O(|leftHeight - rightHeight|).
+     */
+    private Subtree joinNodes(Node l, int leftHeight, Node k, Node r, int rightHeight) {
+        // Roots must be black for the black-height comparison to line up
+        if (l != null && l.nodeColourRed) {
+            l.nodeColourRed = false;
+            leftHeight++;
+        }
+        if (r != null && r.nodeColourRed) {
+            r.nodeColourRed = false;
+            rightHeight++;
+        }
+        k.parent = null;
+
+        if (leftHeight == rightHeight) {
+            link(k, l, r);
+            k.nodeColourRed = false;
+            return new Subtree(k, leftHeight + 1);
+        }
+
+        boolean leftTaller = leftHeight > rightHeight;
+        Node taller = leftTaller ? l : r;
+        Node shorter = leftTaller ? r : l;
+        int target = leftTaller ? rightHeight : leftHeight;
+
+        // Walk the taller tree's inner spine down to a black node of the shorter tree's black-height
+        Node attachParent = null;
+        Node current = taller;
+        int height = Math.max(leftHeight, rightHeight);
+        while (current != null && (current.nodeColourRed || height > target)) {
+            if (!current.nodeColourRed)
+                height--;
+            attachParent = current;
+            current = leftTaller ? current.right : current.left;
+        }
+
+        if (leftTaller) {
+            link(k, current, shorter);
+            attachParent.right = k;
+        } else {
+            link(k, shorter, current);
+            attachParent.left = k;
+        }
+        k.parent = attachParent;
+        k.nodeColourRed = true;
+        for (Node ancestor = attachParent; ancestor != null; ancestor = ancestor.parent)
+            ancestor.size += 1 + size(shorter);
+
+        // Recolour upward while the uncle is red. Reaching the root adds a black
+        // level; otherwise a single rotation, done by the usual fix-up in a
+        // scratch tree (away from this tree's root and metrics), finishes it.
+        int joinedHeight = Math.max(leftHeight, rightHeight);
+        Node node = k;
+        while (true) {
+            Node parent = node.parent;
+            if (parent == null) {
+                node.nodeColourRed = false;
+                return new Subtree(node, joinedHeight + 1);
+            }
+            if (!parent.nodeColourRed)
+                return new Subtree(taller, joinedHeight);
+
+            Node grandParent = parent.parent; // Not null, as the root is black
+            Node uncle = (parent == grandParent.left) ? grandParent.right : grandParent.left;
+            if (uncle == null || !uncle.nodeColourRed)
+                break;
+            parent.nodeColourRed = false;
+            uncle.nodeColourRed = false;
+            grandParent.nodeColourRed = true;
+            node = grandParent;
+        }
+
+        RedBlackTree<T> workspace = new RedBlackTree<T>();
+        workspace.root = taller;
+        workspace.handleRedBlack(node);
+        workspace.root.nodeColourRed = false;
+        return new Subtree(workspace.root, joinedHeight);
+    }
+
+    /**
+     * Joins detached subtrees l < r by pulling out l's largest value as the
+     * middle key. Removing it may lower l's black height, so that is measured
+     * again, in the same O(log n) as the removal itself.
+     */
+    private Subtree join2(Node l, int leftHeight, Node r, int rightHeight) {
+        if (l == null)
+            return new Subtree(r, rightHeight);
+        if (r == null)
+            return new Subtree(l, leftHeight);
 
-        return 1 + recCountNodes(subTreeRoot.left) + recCountNodes(subTreeRoot.right);
+        RedBlackTree<T> workspace = new RedBlackTree<T>();
+        workspace.root = l;
+        T middle = workspace.pollLast();
+        Node rest = detach(workspace.root);
+        return joinNodes(rest, blackHeight(rest), new Node(middle), r, rightHeight);
+    }
+
+    /** Makes node the parent of left and right and recomputes its size. */
+    private void link(Node node, Node left, Node right) {
+        node.left = left;
+        node.right = right;
+        if (left != null)
+            left.parent = node;
+        if (right != null)
+            right.parent = node;
+        node.size = 1 + size(left) + size(right);
+    }
+
+    private static <N extends RedBlackTree<?>.Node> N detach(N node) {
+        if (node != null)
+            node.parent = null;
+        return node;
+    }
+
+    /** @return The black height of node's children, given node's own black height */
+    private static int childHeight(RedBlackTree<?>.Node node, int height) {
+        return node.nodeColourRed ? height : height - 1;
+    }
+
+    /** Black nodes from node down its left spine, counting node itself. */
+    private int blackHeight(Node node) {
+        int blackHeight = 0;
+        for (Node current = node; current != null; current = current.left) {
+            if (!current.nodeColourRed)
+                blackHeight++;
+        }
+        return blackHeight;
+    }
+
+    private static <T extends Comparable<T>> RedBlackTree<T> treeOf(RedBlackTree<T>.Node root) {
+        RedBlackTree<T> tree = new RedBlackTree<T>();
+        if (root != null) {
+            root.parent = null;
+            root.nodeColourRed = false;
+        }
+        tree.root = root;
+        return tree;
+    }
+
+    /////////////////////////////////////////////////////////////////
+    // Binary snapshots. Layout (big-endian):
+    //   int magic, int version, int codec id, int count,
+    //   count key records in ascending order (format set by the codec),
+    //   int CRC32 of every byte before it.
+
+    static final int SNAPSHOT_MAGIC = 0x52425453; // "RBTS"
+    static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_BYTES = 16;
+    private static final int SNAPSHOT_TRAILER_BYTES = 4;
+
+    /**
+     * Writes every value in ascending order to a snapshot file. The file is
+     * written beside the target and then moved over it, so a crash never
+     * leaves a half-written snapshot at path.
+     */
+    public void writeSnapshot(Path path, KeyCodec<? super T> codec) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                DataOutputStream out = new DataOutputStream(
+                        new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(codec.id());
+            out.writeInt(size());
+            for (T value : this)
+                codec.write(value, out);
+
+            out.writeInt((int) crc.getValue()); // Not itself part of the checksum once read back
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-maps a snapshot, checks its header and checksum, decodes the keys
+     * and rebuilds the tree with fromSorted in O(n), with no rebalancing.
+     * @throws IOException if the file is not a snapshot, was written with another
+     *                     codec, or is truncated or corrupt
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> readSnapshot(Path path, KeyCodec<T> codec)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < SNAPSHOT_HEADER_BYTES + SNAPSHOT_TRAILER_BYTES || length > Integer.MAX_VALUE)
+                throw new IOException("Not a snapshot (bad length " + length + "): " + path);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            int bodyEnd = (int) length - SNAPSHOT_TRAILER_BYTES;
+
+            if (buffer.getInt(0) != SNAPSHOT_MAGIC)
+                throw new IOException("Not a snapshot (bad magic): " + path);
+            if (buffer.getInt(4) != SNAPSHOT_VERSION)
+                throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + ": " + path);
+            if (buffer.getInt(8) != codec.id())
+                throw new IOException("Snapshot was written with codec " + buffer.getInt(8)
+                        + ", not " + codec.id() + ": " + path);
+
+            CRC32 crc = new CRC32();
+            ByteBuffer body = buffer.duplicate();
+            body.limit(bodyEnd);
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt(bodyEnd))
+                throw new IOException("Snapshot checksum mismatch: " + path);
+
+            int count = buffer.getInt(12);
+            if (count < 0)
+                throw new IOException("Bad snapshot count " + count + ": " + path);
+
+            ByteBuffer records = buffer.duplicate();
+            records.position(SNAPSHOT_HEADER_BYTES).limit(bodyEnd);
+            List<T> values = new ArrayList<T>(Math.min(count, records.remaining()));
+            try {
+                for (int i = 0; i < count; i++) {
+                    T value = codec.read(records);
+                    if (i > 0 && value.compareTo(values.get(i - 1)) < 0)
+                        throw new IOException("Snapshot keys are out of order at index " + i + ": " + path);
+                    values.add(value);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Snapshot is truncated after " + values.size() + " keys: " + path, e);
+            }
+            if (records.hasRemaining())
+                throw new IOException("Snapshot has trailing bytes after " + count + " keys: " + path);
+
+            return fromSorted(values);
+        }
     }
 
     /////////////////////////////////////////////////////////////////
@@ -175,6 +1405,9 @@ public class RedBlackTree<T extends Comparable<T>> {
         public Node parent;
         public boolean nodeColourRed = true; // New nodes default to red
 
+        // Order-statistic augmentation
+        public int size = 1; // Number of nodes in the subtree rooted here
+
         public Node(T value) {
             this.value = value;
         }
@@ -190,11 +1423,15 @@ public class RedBlackTree<T extends Comparable<T>> {
     /** Rotates the entire tree to the left. */
     public void rotateLeft() {
         root = rotateSubTreeLeft(root);
+        if (listeners != null)
+            fireOperationCompleted();
     }
 
     /** Rotates the entire tree to the right. */
     public void rotateRight() {
         root = rotateSubTreeRight(root);
+        if (listeners != null)
+            fireOperationCompleted();
     }
 
     /** Left rotation: promotes right child, demotes original root to left. */
@@ -212,6 +1449,12 @@ public class RedBlackTree<T extends Comparable<T>> {
         if (node.right != null)
             node.right.parent = node;
 
+        // newRoot now covers the old subtree; node lost newRoot and its right side
+        newRoot.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+
+        if (listeners != null)
+            fireRotated(node.value, true);
         return newRoot;
     }
 
@@ -230,6 +1473,11 @@ public class RedBlackTree<T extends Comparable<T>> {
         if (node.left != null)
             node.left.parent = node;
 
+        newRoot.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+
+        if (listeners != null)
+            fireRotated(node.value, false);
         return newRoot;
     }
 
@@ -239,8 +1487,8 @@ public class RedBlackTree<T extends Comparable<T>> {
         Node greatGrandParent = grandParent.parent;
 
         Node newRoot = rotateSubTreeRight(grandParent);
-        parent.nodeColourRed = false;
-        grandParent.nodeColourRed = true;
+        setColour(parent, false);
+        setColour(grandParent, true);
 
         // Update parent-child references
         updateParentReferences(grandParent, newRoot, greatGrandParent);
@@ -261,8 +1509,8 @@ public class RedBlackTree<T extends Comparable<T>> {
 
         Node newSubtreeRoot = rotateSubTreeLeft(grandParent);
 
-        newSubtreeRoot.nodeColourRed = false;
-        grandParent.nodeColourRed = true;
+        setColour(newSubtreeRoot, false);
+        setColour(grandParent, true);
 
         updateParentReferences(grandParent, newSubtreeRoot, greatGrandParent);
 
@@ -0,0 +1,46 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+/**
+ * Receives the structural changes a RedBlackTree makes, as it makes them, so
+ * views, caches and replicas can follow along instead of rescanning the tree.
+ * Register with RedBlackTree.addListener; with no listeners the tree pays a
+ * single null check per change.
+ *
+ * Each insert or remove reports the value first, then any rotations and
+ * recolourings of its fix-up, then operationCompleted. Listeners that only
+ * need the end state can collect the events and act once there. Nodes are
+ * identified by their values. Every method does nothing by default.
+ *
+ * The bulk operations (fromSorted, split, join and the set operations) build
+ * or dismantle whole trees; a tree they empty reports cleared.
+ */
+public interface RedBlackTreeListener<T> {
+
+    /** value was linked in as a new red leaf (black if it became the root). */
+    default void inserted(T value) {
+    }
+
+    /** value is about to be unlinked. */
+    default void removed(T value) {
+    }
+
+    /** The node holding value was rotated left, down below its former right child. */
+    default void rotatedLeft(T value) {
+    }
+
+    /** The node holding value was rotated right, down below its former left child. */
+    default void rotatedRight(T value) {
+    }
+
+    /** The node holding value changed colour. */
+    default void recoloured(T value, boolean red) {
+    }
+
+    /** Every value was removed at once. */
+    default void cleared() {
+    }
+
+    /** The insert, remove or rotation just reported is finished and the tree is valid again. */
+    default void operationCompleted() {
+    }
+}
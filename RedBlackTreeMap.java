@@ -0,0 +1,668 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * NavigableMap stored in a RedBlackTree of key/value entries, so each payload
+ * lives in the same node as its key and lookups and updates reuse the tree's
+ * insertion, rotation and deletion logic.
+ *
+ * subMap, headMap, tailMap and descendingMap return live views over the same
+ * tree: they hold only their bounds and iterate it lazily, nothing is copied.
+ */
+public class RedBlackTreeMap<K extends Comparable<K>, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+    private final RedBlackTree<Entry<K, V>> tree;
+
+    // View bounds, always in ascending key order (fromStart/toEnd mean unbounded)
+    private final boolean fromStart;
+    private final K lo;
+    private final boolean loInclusive;
+    private final boolean toEnd;
+    private final K hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    private EntrySetView entrySet;
+    private KeySetView<K> keySet;
+
+    public RedBlackTreeMap() {
+        this(new RedBlackTree<Entry<K, V>>(), true, null, false, true, null, false, false);
+    }
+
+    private RedBlackTreeMap(RedBlackTree<Entry<K, V>> tree, boolean fromStart, K lo, boolean loInclusive,
+            boolean toEnd, K hi, boolean hiInclusive, boolean descending) {
+        this.tree = tree;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    /////////////////////////////////////////////////////////////////
+    // Map operations
+
+    @Override
+    public int size() {
+        if (fromStart && toEnd)
+            return tree.size();
+
+        // Count through the tree's subtree sizes rather than iterating the view
+        int high = toEnd ? tree.size() : (hiInclusive ? tree.rankInclusive(probe(hi)) : tree.rank(probe(hi)));
+        int low = fromStart ? 0 : (loInclusive ? tree.rank(probe(lo)) : tree.rankInclusive(probe(lo)));
+        return Math.max(0, high - low);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getNode(key) != null;
+    }
+
+    @Override
+    public V get(Object key) {
+        RedBlackTree<Entry<K, V>>.Node node = getNode(key);
+        return (node == null) ? null : node.value.value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if key lies outside this view's range
+     */
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key);
+        if (!inRange(key))
+            throw new IllegalArgumentException("key out of range: " + key);
+
+        RedBlackTree<Entry<K, V>>.Node node = tree.findNode(probe(key));
+        if (node != null)
+            return node.value.setValue(value);
+
+        tree.insert(new Entry<K, V>(key, value));
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        RedBlackTree<Entry<K, V>>.Node node = getNode(key);
+        if (node == null)
+            return null;
+
+        V oldValue = node.value.value;
+        tree.deleteNode(node);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        if (fromStart && toEnd) {
+            tree.clear();
+            return;
+        }
+
+        Iterator<K> it = keyIterator();
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedBlackTree<Entry<K, V>>.Node getNode(Object key) {
+        K k = (K) Objects.requireNonNull(key);
+        if (!inRange(k))
+            return null;
+        return tree.findNode(probe(k));
+    }
+
+    /** A key-only entry used to search the tree. */
+    private Entry<K, V> probe(K key) {
+        return new Entry<K, V>(key, null);
+    }
+
+    /////////////////////////////////////////////////////////////////
+    // Navigation
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return descending ? Collections.<K>reverseOrder() : null;
+    }
+
+    @Override
+    public Map.Entry<K, V> firstEntry() {
+        return exportEntry(descending ? absHighest() : absLowest());
+    }
+
+    @Override
+    public Map.Entry<K, V> lastEntry() {
+        return exportEntry(descending ? absLowest() : absHighest());
+    }
+
+    @Override
+    public Map.Entry<K, V> pollFirstEntry() {
+        return pollEntry(descending ? absHighest() : absLowest());
+    }
+
+    @Override
+    public Map.Entry<K, V> pollLastEntry() {
+        return pollEntry(descending ? absLowest() : absHighest());
+    }
+
+    @Override
+    public K firstKey() {
+        return keyOrThrow(descending ? absHighest() : absLowest());
+    }
+
+    @Override
+    public K lastKey() {
+        return keyOrThrow(descending ? absLowest() : absHighest());
+    }
+
+    @Override
+    public Map.Entry<K, V> lowerEntry(K key) {
+        return exportEntry(descending ? absHigher(key) : absLower(key));
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return keyOf(descending ? absHigher(key) : absLower(key));
+    }
+
+    @Override
+    public Map.Entry<K, V> floorEntry(K key) {
+        return exportEntry(descending ? absCeiling(key) : absFloor(key));
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return keyOf(descending ? absCeiling(key) : absFloor(key));
+    }
+
+    @Override
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        return exportEntry(descending ? absFloor(key) : absCeiling(key));
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return keyOf(descending ? absFloor(key) : absCeiling(key));
+    }
+
+    @Override
+    public Map.Entry<K, V> higherEntry(K key) {
+        return exportEntry(descending ? absLower(key) : absHigher(key));
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return keyOf(descending ? absLower(key) : absHigher(key));
+    }
+
+    private Map.Entry<K, V> exportEntry(RedBlackTree<Entry<K, V>>.Node node) {
+        return (node == null) ? null : new AbstractMap.SimpleImmutableEntry<K, V>(node.value);
+    }
+
+    private Map.Entry<K, V> pollEntry(RedBlackTree<Entry<K, V>>.Node node) {
+        if (node == null)
+            return null;
+
+        Map.Entry<K, V> entry = exportEntry(node);
+        tree.deleteNode(node);
+        return entry;
+    }
+
+    private K keyOf(RedBlackTree<Entry<K, V>>.Node node) {
+        return (node == null) ? null : node.value.key;
+    }
+
+    private K keyOrThrow(RedBlackTree<Entry<K, V>>.Node node) {
+        if (node == null)
+            throw new NoSuchElementException();
+        return node.value.key;
+    }
+
+    // The abs* helpers work in ascending key order and respect the view bounds
+
+    private boolean tooLow(K key) {
+        if (fromStart)
+            return false;
+        int cmp = key.compareTo(lo);
+        return cmp < 0 || (cmp == 0 && !loInclusive);
+    }
+
+    private boolean tooHigh(K key) {
+        if (toEnd)
+            return false;
+        int cmp = key.compareTo(hi);
+        return cmp > 0 || (cmp == 0 && !hiInclusive);
+    }
+
+    private boolean inRange(K key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    private RedBlackTree<Entry<K, V>>.Node absLowest() {
+        RedBlackTree<Entry<K, V>>.Node node = fromStart ? tree.firstNode()
+                : (loInclusive ? tree.ceilingNode(probe(lo)) : tree.higherNode(probe(lo)));
+        return (node == null || tooHigh(node.value.key)) ? null : node;
+    }
+
+    private RedBlackTree<Entry<K, V>>.Node absHighest() {
+        RedBlackTree<Entry<K, V>>.Node node = toEnd ? tree.lastNode()
+                : (hiInclusive ? tree.floorNode(probe(hi)) : tree.lowerNode(probe(hi)));
+        return (node == null || tooLow(node.value.key)) ? null : node;
+    }
+
+    private RedBlackTree<Entry<K, V>>.Node absCeiling(K key) {
+        if (tooLow(key))
+            return absLowest();
+        RedBlackTree<Entry<K, V>>.Node node = tree.ceilingNode(probe(key));
+        return (node == null || tooHigh(node.value.key)) ? null : node;
+    }
+
+    private RedBlackTree<Entry<K, V>>.Node absHigher(K key) {
+        if (tooLow(key))
+            return absLowest();
+        RedBlackTree<Entry<K, V>>.Node node = tree.higherNode(probe(key));
+        return (node == null || tooHigh(node.value.key)) ? null : node;
+    }
+
+    private RedBlackTree<Entry<K, V>>.Node absFloor(K key) {
+        if (tooHigh(key))
+            return absHighest();
+        RedBlackTree<Entry<K, V>>.Node node = tree.floorNode(probe(key));
+        return (node == null || tooLow(node.value.key)) ? null : node;
+    }
+
+    private RedBlackTree<Entry<K, V>>.Node absLower(K key) {
+        if (tooHigh(key))
+            return absHighest();
+        RedBlackTree<Entry<K, V>>.Node node = tree.lowerNode(probe(key));
+        return (node == null || tooLow(node.value.key)) ? null : node;
+    }
+
+    /////////////////////////////////////////////////////////////////
+    // Views
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        return new RedBlackTreeMap<K, V>(tree, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        if (descending)
+            return view(false, toKey, toInclusive, false, fromKey, fromInclusive);
+        return view(false, fromKey, fromInclusive, false, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        if (descending)
+            return view(false, toKey, inclusive, true, null, false);
+        return view(true, null, false, false, toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        if (descending)
+            return view(true, null, false, false, fromKey, inclusive);
+        return view(false, fromKey, inclusive, true, null, false);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    /** Narrows this view; a side passed as unbounded keeps this view's bound on that side. */
+    private NavigableMap<K, V> view(boolean newFromStart, K newLo, boolean newLoInclusive,
+            boolean newToEnd, K newHi, boolean newHiInclusive) {
+        if (!newFromStart)
+            checkBound(newLo, newLoInclusive);
+        if (!newToEnd)
+            checkBound(newHi, newHiInclusive);
+        if (!newFromStart && !newToEnd && newLo.compareTo(newHi) > 0)
+            throw new IllegalArgumentException("fromKey > toKey");
+
+        if (newFromStart) {
+            newFromStart = fromStart;
+            newLo = lo;
+            newLoInclusive = loInclusive;
+        }
+        if (newToEnd) {
+            newToEnd = toEnd;
+            newHi = hi;
+            newHiInclusive = hiInclusive;
+        }
+        return new RedBlackTreeMap<K, V>(tree, newFromStart, newLo, newLoInclusive,
+                newToEnd, newHi, newHiInclusive, descending);
+    }
+
+    private void checkBound(K key, boolean inclusive) {
+        Objects.requireNonNull(key);
+        boolean belowLo = !fromStart && key.compareTo(lo) < 0;
+        boolean aboveHi = !toEnd && key.compareTo(hi) > 0;
+        if (belowLo || aboveHi || (inclusive && !inRange(key)))
+            throw new IllegalArgumentException("key out of range: " + key);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null)
+            entrySet = new EntrySetView();
+        return entrySet;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        if (keySet == null)
+            keySet = new KeySetView<K>(this);
+        return keySet;
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    private RedBlackTree<Entry<K, V>>.Node firstInViewOrder() {
+        return descending ? absHighest() : absLowest();
+    }
+
+    private class EntrySetView extends AbstractSet<Map.Entry<K, V>> {
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new ViewIterator<Map.Entry<K, V>>() {
+                @Override
+                Map.Entry<K, V> extract(RedBlackTree<Entry<K, V>>.Node node) {
+                    return node.value; // Live entry: setValue writes through
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return RedBlackTreeMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            RedBlackTree<Entry<K, V>>.Node node = getNode(entry.getKey());
+            return node != null && Objects.equals(node.value.value, entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o))
+                return false;
+            RedBlackTreeMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            RedBlackTreeMap.this.clear();
+        }
+    }
+
+    /** Walks successor (or predecessor) links lazily and stops at the view's far bound. */
+    private abstract class ViewIterator<E> implements Iterator<E> {
+        private RedBlackTree<Entry<K, V>>.Node next = firstInViewOrder();
+        private RedBlackTree<Entry<K, V>>.Node lastReturned;
+
+        abstract E extract(RedBlackTree<Entry<K, V>>.Node node);
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null)
+                throw new NoSuchElementException();
+
+            lastReturned = next;
+            next = descending ? tree.predecessor(next) : tree.successor(next);
+            if (next != null && (descending ? tooLow(next.value.key) : tooHigh(next.value.key)))
+                next = null;
+            return extract(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            if (lastReturned.value == null)
+                throw new ConcurrentModificationException();
+
+            // Deleting a two-child node moves its successor's entry (our next) into it
+            if (!descending && next != null && lastReturned.left != null && lastReturned.right != null)
+                next = lastReturned;
+            tree.deleteNode(lastReturned);
+            lastReturned = null;
+        }
+    }
+
+    Iterator<K> keyIterator() {
+        return new ViewIterator<K>() {
+            @Override
+            K extract(RedBlackTree<Entry<K, V>>.Node node) {
+                return node.value.key;
+            }
+        };
+    }
+
+    /** NavigableSet of keys that forwards every call to a (possibly bounded) map view. */
+    private static final class KeySetView<K extends Comparable<K>> extends AbstractSet<K> implements NavigableSet<K> {
+        private final RedBlackTreeMap<K, ?> map;
+
+        KeySetView(RedBlackTreeMap<K, ?> map) {
+            this.map = map;
+        }
+
+        private static <K extends Comparable<K>> NavigableSet<K> of(NavigableMap<K, ?> map) {
+            return ((RedBlackTreeMap<K, ?>) map).navigableKeySet();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return map.keyIterator();
+        }
+
+        @Override
+        public Iterator<K> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!map.containsKey(o))
+                return false;
+            map.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public K first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public K last() {
+            return map.lastKey();
+        }
+
+        @Override
+        public K lower(K e) {
+            return map.lowerKey(e);
+        }
+
+        @Override
+        public K floor(K e) {
+            return map.floorKey(e);
+        }
+
+        @Override
+        public K ceiling(K e) {
+            return map.ceilingKey(e);
+        }
+
+        @Override
+        public K higher(K e) {
+            return map.higherKey(e);
+        }
+
+        @Override
+        public K pollFirst() {
+            Map.Entry<K, ?> entry = map.pollFirstEntry();
+            return (entry == null) ? null : entry.getKey();
+        }
+
+        @Override
+        public K pollLast() {
+            Map.Entry<K, ?> entry = map.pollLastEntry();
+            return (entry == null) ? null : entry.getKey();
+        }
+
+        @Override
+        public NavigableSet<K> descendingSet() {
+            return of(map.descendingMap());
+        }
+
+        @Override
+        public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement, boolean toInclusive) {
+            return of(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+            return of(map.headMap(toElement, inclusive));
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+            return of(map.tailMap(fromElement, inclusive));
+        }
+
+        @Override
+        public SortedSet<K> subSet(K fromElement, K toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> headSet(K toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> tailSet(K fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+
+    /////////////////////////////////////////////////////////////////
+    /** Tree element: ordered by key, carrying the value alongside it. */
+    static final class Entry<K extends Comparable<K>, V> implements Map.Entry<K, V>, Comparable<Entry<K, V>> {
+        final K key;
+        V value;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Entry<K, V> other) {
+            return key.compareTo(other.key);
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return key.equals(other.getKey()) && Objects.equals(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
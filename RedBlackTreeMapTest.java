@@ -0,0 +1,106 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+public class RedBlackTreeMapTest {
+
+    private static void assertSameNavigation(NavigableMap<Integer, String> expected, NavigableMap<Integer, String> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new ArrayList<Map.Entry<Integer, String>>(expected.entrySet()),
+                new ArrayList<Map.Entry<Integer, String>>(actual.entrySet()));
+        for (int probe = -5; probe <= 105; probe++) {
+            assertEquals(expected.get(probe), actual.get(probe));
+            assertEquals(expected.floorKey(probe), actual.floorKey(probe));
+            assertEquals(expected.ceilingKey(probe), actual.ceilingKey(probe));
+            assertEquals(expected.lowerKey(probe), actual.lowerKey(probe));
+            assertEquals(expected.higherKey(probe), actual.higherKey(probe));
+        }
+        assertEquals(expected.firstEntry(), actual.firstEntry());
+        assertEquals(expected.lastEntry(), actual.lastEntry());
+    }
+
+    @Test
+    public void testMatchesTreeMap() {
+        TreeMap<Integer, String> expected = new TreeMap<Integer, String>();
+        RedBlackTreeMap<Integer, String> actual = new RedBlackTreeMap<Integer, String>();
+        Random random = new Random(9);
+
+        for (int i = 0; i < 2000; i++) {
+            int key = random.nextInt(100);
+            if (random.nextInt(3) == 0)
+                assertEquals(expected.remove(key), actual.remove(key));
+            else
+                assertEquals(expected.put(key, "v" + i), actual.put(key, "v" + i));
+        }
+
+        assertSameNavigation(expected, actual);
+        assertSameNavigation(expected.descendingMap(), actual.descendingMap());
+        assertSameNavigation(expected.subMap(20, true, 70, false), actual.subMap(20, true, 70, false));
+        assertSameNavigation(expected.headMap(50, true).descendingMap(), actual.headMap(50, true).descendingMap());
+        assertSameNavigation(expected.descendingMap().tailMap(40, false), actual.descendingMap().tailMap(40, false));
+        assertSameNavigation(expected.tailMap(30, true).headMap(60, false), actual.tailMap(30, true).headMap(60, false));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testViewsAreLive() {
+        RedBlackTreeMap<Integer, String> map = new RedBlackTreeMap<Integer, String>();
+        NavigableMap<Integer, String> middle = map.subMap(10, true, 20, true);
+        assertTrue(middle.isEmpty());
+
+        map.put(5, "a");
+        map.put(15, "b");
+        map.put(25, "c");
+        assertEquals(1, middle.size());
+        assertEquals("b", middle.get(15));
+        assertNull(middle.get(5));
+
+        middle.put(12, "d");
+        assertEquals("d", map.get(12));
+
+        Iterator<Map.Entry<Integer, String>> it = middle.entrySet().iterator();
+        it.next().setValue("e");
+        assertEquals("e", map.get(12));
+        it.remove();
+        assertFalse(map.containsKey(12));
+
+        middle.clear();
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(5), map.firstKey());
+        assertEquals(Integer.valueOf(25), map.lastKey());
+    }
+
+    @Test
+    public void testIteratorRemoveAll() {
+        RedBlackTreeMap<Integer, String> map = new RedBlackTreeMap<Integer, String>();
+        for (int i = 0; i < 500; i++)
+            map.put((i * 7) % 500, "v");
+
+        List<Integer> seen = new ArrayList<Integer>();
+        Iterator<Integer> it = map.keySet().iterator();
+        while (it.hasNext()) {
+            seen.add(it.next());
+            it.remove();
+        }
+        assertEquals(500, seen.size());
+        for (int i = 0; i < 500; i++)
+            assertEquals(Integer.valueOf(i), seen.get(i));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutOutsideView() {
+        new RedBlackTreeMap<Integer, String>().headMap(10, false).put(10, "x");
+    }
+}
@@ -0,0 +1,148 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+/**
+ * Opt-in rebalancing counters for a RedBlackTree.
+ * Obtained from RedBlackTree.enableMetrics(); while metrics are disabled the
+ * insert path only pays a null check.
+ */
+public class RedBlackTreeMetrics {
+
+    /** The rotation cases handled by RedBlackTree.handleRedBlack. */
+    public enum RotationCase {
+        LEFT_LEFT, LEFT_RIGHT, RIGHT_RIGHT, RIGHT_LEFT
+    }
+
+    /** Receives a snapshot after every `interval` inserts. */
+    public interface Listener {
+        void onSnapshot(Snapshot snapshot);
+    }
+
+    private final RedBlackTree<?> tree;
+
+    private final long[] rotations = new long[RotationCase.values().length];
+    private long recolourCascades; // Red-uncle recolourings that push the fix-up upward
+    private long inserts;
+    private long totalFixupDepth;
+    private int maxFixupDepth;
+
+    private Listener listener;
+    private int interval;
+
+    RedBlackTreeMetrics(RedBlackTree<?> tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * Pushes a snapshot to listener after every `interval` inserts.
+     * Snapshots measure the tree height, which costs O(n), so pick an interval
+     * that amortises it. Pass null to stop pushing.
+     */
+    public void setListener(Listener listener, int interval) {
+        if (listener != null && interval < 1)
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+
+        this.listener = listener;
+        this.interval = interval;
+    }
+
+    void recordRotation(RotationCase rotationCase) {
+        rotations[rotationCase.ordinal()]++;
+    }
+
+    void recordRecolour() {
+        recolourCascades++;
+    }
+
+    /** Called once per insert with the number of handleRedBlack calls it made. */
+    void recordInsert(int fixupDepth) {
+        inserts++;
+        totalFixupDepth += fixupDepth;
+        if (fixupDepth > maxFixupDepth)
+            maxFixupDepth = fixupDepth;
+
+        if (listener != null && inserts % interval == 0)
+            listener.onSnapshot(snapshot());
+    }
+
+    /** Zeroes every counter. */
+    public void reset() {
+        for (int i = 0; i < rotations.length; i++)
+            rotations[i] = 0;
+        recolourCascades = 0;
+        inserts = 0;
+        totalFixupDepth = 0;
+        maxFixupDepth = 0;
+    }
+
+    /** @return The current counters plus the tree's height and black-height */
+    public Snapshot snapshot() {
+        return new Snapshot(rotations.clone(), recolourCascades, inserts, totalFixupDepth, maxFixupDepth,
+                tree.height(), tree.blackHeight());
+    }
+
+    /////////////////////////////////////////////////////////////////
+    /** Immutable copy of the counters at one point in time. */
+    public static final class Snapshot {
+        private final long[] rotations;
+        private final long recolourCascades;
+        private final long inserts;
+        private final long totalFixupDepth;
+        private final int maxFixupDepth;
+        private final int height;
+        private final int blackHeight;
+
+        private Snapshot(long[] rotations, long recolourCascades, long inserts, long totalFixupDepth,
+                int maxFixupDepth, int height, int blackHeight) {
+            this.rotations = rotations;
+            this.recolourCascades = recolourCascades;
+            this.inserts = inserts;
+            this.totalFixupDepth = totalFixupDepth;
+            this.maxFixupDepth = maxFixupDepth;
+            this.height = height;
+            this.blackHeight = blackHeight;
+        }
+
+        public long getRotations(RotationCase rotationCase) {
+            return rotations[rotationCase.ordinal()];
+        }
+
+        public long getRecolourCascades() {
+            return recolourCascades;
+        }
+
+        public long getInserts() {
+            return inserts;
+        }
+
+        public int getMaxFixupDepth() {
+            return maxFixupDepth;
+        }
+
+        public double getAverageFixupDepth() {
+            return (inserts == 0) ? 0.0 : (double) totalFixupDepth / inserts;
+        }
+
+        /** @return Edges on the longest root-to-leaf path (-1 for an empty tree) */
+        public int getHeight() {
+            return height;
+        }
+
+        /** @return Black nodes on any root-to-leaf path */
+        public int getBlackHeight() {
+            return blackHeight;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics [inserts=" + inserts
+                    + ", LL=" + getRotations(RotationCase.LEFT_LEFT)
+                    + ", LR=" + getRotations(RotationCase.LEFT_RIGHT)
+                    + ", RR=" + getRotations(RotationCase.RIGHT_RIGHT)
+                    + ", RL=" + getRotations(RotationCase.RIGHT_LEFT)
+                    + ", recolours=" + recolourCascades
+                    + ", maxFixupDepth=" + maxFixupDepth
+                    + ", height=" + height
+                    + ", blackHeight=" + blackHeight + "]";
+        }
+    }
+}
@@ -0,0 +1,631 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RedBlackTreeTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    /** Checks ordering, parent links and the Red-Black rules; returns the black-height. */
+    private static int checkRedBlack(RedBlackTree<Integer>.Node node, RedBlackTree<Integer>.Node parent) {
+        if (node == null)
+            return 1;
+
+        assertTrue("parent link", node.parent == parent);
+        if (node.nodeColourRed && parent != null)
+            assertFalse("red node with red parent", parent.nodeColourRed);
+        if (node.left != null)
+            assertTrue("left ordering", node.left.value.compareTo(node.value) <= 0);
+        if (node.right != null)
+            assertTrue("right ordering", node.right.value.compareTo(node.value) >= 0);
+
+        int leftSize = node.left == null ? 0 : node.left.size;
+        int rightSize = node.right == null ? 0 : node.right.size;
+        assertEquals("subtree size", 1 + leftSize + rightSize, node.size);
+
+        int leftBlack = checkRedBlack(node.left, node);
+        int rightBlack = checkRedBlack(node.right, node);
+        assertEquals("black-height", leftBlack, rightBlack);
+        return leftBlack + (node.nodeColourRed ? 0 : 1);
+    }
+
+    private static void assertValid(RedBlackTree<Integer> tree) {
+        if (tree.root != null)
+            assertFalse("root is black", tree.root.nodeColourRed);
+        checkRedBlack(tree.root, null);
+    }
+
+    @Test
+    public void testRemove() {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 500; i++)
+            values.add(i);
+        Collections.shuffle(values, new Random(42));
+        for (Integer v : values)
+            tree.insert(v);
+
+        Collections.shuffle(values, new Random(7));
+        int expected = values.size();
+        for (Integer v : values) {
+            assertTrue(tree.remove(v));
+            assertFalse(tree.remove(v));
+            assertEquals(--expected, tree.countNodes());
+            assertValid(tree);
+        }
+        assertNull(tree.root);
+    }
+
+    @Test
+    public void testRemoveMissing() {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        assertFalse(tree.remove(1));
+        tree.insert(1);
+        assertFalse(tree.remove(2));
+        assertEquals(1, tree.countNodes());
+    }
+
+    @Test
+    public void testPollFirstAndLast() {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        assertNull(tree.pollFirst());
+        assertNull(tree.pollLast());
+
+        for (int i = 1; i <= 100; i++)
+            tree.insert(i);
+
+        for (int i = 1; i <= 50; i++) {
+            assertEquals(Integer.valueOf(i), tree.pollFirst());
+            assertEquals(Integer.valueOf(101 - i), tree.pollLast());
+            assertValid(tree);
+        }
+        assertEquals(0, tree.countNodes());
+    }
+
+    @Test
+    public void testFromSorted() {
+        for (int n = 0; n <= 300; n++) {
+            List<Integer> values = new ArrayList<Integer>();
+            for (int i = 0; i < n; i++)
+                values.add(i / 2); // Include duplicates
+
+            RedBlackTree<Integer> tree = RedBlackTree.fromSorted(values);
+            assertEquals(n, tree.countNodes());
+            assertValid(tree);
+
+            // The loaded tree must keep working with normal inserts and removes
+            tree.insert(n);
+            tree.remove(0);
+            assertValid(tree);
+        }
+    }
+
+    @Test
+    public void testBulkLoad() {
+        RedBlackTree<Integer> tree = RedBlackTree.bulkLoad(Arrays.asList(1, 2, 3, 4, 5).iterator());
+        assertEquals(5, tree.countNodes());
+        assertValid(tree);
+        assertEquals(Integer.valueOf(1), tree.pollFirst());
+        assertEquals(Integer.valueOf(5), tree.pollLast());
+    }
+
+    @Test(timeout = 10000)
+    public void testFromSortedLinkedList() {
+        // get(i) on a LinkedList is O(n), so this only finishes if the list is copied first
+        List<Integer> values = new LinkedList<Integer>();
+        for (int i = 0; i < 200000; i++)
+            values.add(i);
+
+        RedBlackTree<Integer> tree = RedBlackTree.fromSorted(values);
+        assertEquals(200000, tree.countNodes());
+        assertValid(tree);
+        assertEquals(Integer.valueOf(123456), tree.select(123456));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromSortedRejectsUnsorted() {
+        RedBlackTree.fromSorted(Arrays.asList(1, 3, 2));
+    }
+
+    @Test
+    public void testOrderStatistics() {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 200; i++)
+            values.add(i * 2); // Even numbers 0..398
+        Collections.shuffle(values, new Random(3));
+        for (Integer v : values)
+            tree.insert(v);
+        assertValid(tree);
+
+        assertEquals(200, tree.size());
+        for (int k = 0; k < 200; k++) {
+            assertEquals(Integer.valueOf(k * 2), tree.select(k));
+            assertEquals(k, tree.rank(k * 2));
+            assertEquals(k + 1, tree.rank(k * 2 + 1));
+        }
+        assertEquals(6, tree.countInRange(10, 20));
+        assertEquals(5, tree.countInRange(11, 20));
+        assertEquals(0, tree.countInRange(20, 10));
+        assertEquals(200, tree.countInRange(-5, 1000));
+
+        tree.remove(10);
+        tree.pollFirst();
+        assertValid(tree);
+        assertEquals(198, tree.size());
+        assertEquals(4, tree.countInRange(0, 10));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSelectOutOfRange() {
+        new RedBlackTree<Integer>().select(0);
+    }
+
+    @Test
+    public void testIterator() {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        assertFalse(tree.iterator().hasNext());
+
+        List<Integer> values = new ArrayList<Integer>();
+        Random random = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            int v = random.nextInt(100);
+            values.add(v);
+            tree.insert(v);
+        }
+        Collections.sort(values);
+
+        List<Integer> visited = new ArrayList<Integer>();
+        for (Integer v : tree)
+            visited.add(v);
+        assertEquals(values, visited);
+
+        Iterator<Integer> it = tree.iterator();
+        assertEquals(values.get(0), it.next()); // Stopping early is fine
+    }
+
+    @Test
+    public void testSpliterator() {
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++)
+            values.add(i);
+        RedBlackTree<Integer> tree = RedBlackTree.fromSorted(values);
+
+        Spliterator<Integer> right = tree.spliterator();
+        assertTrue(right.hasCharacteristics(Spliterator.SORTED | Spliterator.SIZED | Spliterator.SUBSIZED));
+        Spliterator<Integer> left = right.trySplit();
+        assertEquals(1000, left.estimateSize() + right.estimateSize());
+
+        List<Integer> visited = new ArrayList<Integer>();
+        left.forEachRemaining(visited::add);
+        right.forEachRemaining(visited::add);
+        assertEquals(values, visited);
+
+        assertEquals(values, tree.stream().parallel().collect(Collectors.toList()));
+        assertEquals(499500L, tree.stream().parallel().mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    public void testMetrics() {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        RedBlackTreeMetrics metrics = tree.enableMetrics();
+        final List<RedBlackTreeMetrics.Snapshot> pushed = new ArrayList<RedBlackTreeMetrics.Snapshot>();
+        metrics.setListener(pushed::add, 2);
+
+        tree.insert(1);
+        tree.insert(2);
+        tree.insert(3); // Right-Right case
+        tree.insert(4); // Red uncle recolour
+
+        RedBlackTreeMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(4, snapshot.getInserts());
+        assertEquals(1, snapshot.getRotations(RedBlackTreeMetrics.RotationCase.RIGHT_RIGHT));
+        assertEquals(1, snapshot.getRecolourCascades());
+        assertEquals(2, snapshot.getMaxFixupDepth());
+        assertEquals(2, snapshot.getHeight());
+        assertEquals(2, snapshot.getBlackHeight());
+        assertEquals(2, pushed.size());
+
+        tree.disableMetrics();
+        tree.insert(5);
+        assertEquals(4, metrics.snapshot().getInserts());
+    }
+
+    @Test
+    public void testSearch() {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        Random random = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            int v = random.nextInt(1000);
+            if (expected.add(v))
+                tree.insert(v);
+        }
+
+        for (int probe = -10; probe <= 1010; probe++) {
+            assertEquals(expected.contains(probe), tree.contains(probe));
+            assertEquals(expected.contains(probe) ? Integer.valueOf(probe) : null, tree.get(probe));
+            assertEquals(expected.floor(probe), tree.floor(probe));
+            assertEquals(expected.ceiling(probe), tree.ceiling(probe));
+            assertEquals(expected.lower(probe), tree.lower(probe));
+            assertEquals(expected.higher(probe), tree.higher(probe));
+        }
+    }
+
+    private static List<Integer> toList(RedBlackTree<Integer> tree) {
+        return tree.stream().collect(Collectors.toList());
+    }
+
+    private static RedBlackTree<Integer> randomSet(Random random, int count, int bound, TreeSet<Integer> expected) {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        for (int i = 0; i < count; i++) {
+            int v = random.nextInt(bound);
+            if (expected.add(v))
+                tree.insert(v);
+        }
+        return tree;
+    }
+
+    @Test
+    public void testSplitAndJoin() {
+        Random random = new Random(6);
+        for (int round = 0; round < 50; round++) {
+            TreeSet<Integer> expected = new TreeSet<Integer>();
+            RedBlackTree<Integer> tree = randomSet(random, random.nextInt(300), 1000, expected);
+            int key = random.nextInt(1000);
+
+            RedBlackTree.SplitResult<Integer> parts = tree.split(key);
+            assertEquals(0, tree.size());
+            assertEquals(expected.contains(key), parts.found);
+            assertValid(parts.lower);
+            assertValid(parts.higher);
+            assertEquals(new ArrayList<Integer>(expected.headSet(key)), toList(parts.lower));
+            assertEquals(new ArrayList<Integer>(expected.tailSet(key, false)), toList(parts.higher));
+
+            RedBlackTree<Integer> joined = RedBlackTree.join(parts.lower, key, parts.higher);
+            expected.add(key);
+            assertValid(joined);
+            assertEquals(new ArrayList<Integer>(expected), toList(joined));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testJoinRejectsOverlap() {
+        RedBlackTree.join(RedBlackTree.fromSorted(Arrays.asList(1, 5)), 3, new RedBlackTree<Integer>());
+    }
+
+    @Test
+    public void testSetOperations() {
+        Random random = new Random(7);
+        for (int round = 0; round < 30; round++) {
+            for (int op = 0; op < 3; op++) {
+                TreeSet<Integer> a = new TreeSet<Integer>();
+                TreeSet<Integer> b = new TreeSet<Integer>();
+                RedBlackTree<Integer> treeA = randomSet(random, random.nextInt(400), 600, a);
+                RedBlackTree<Integer> treeB = randomSet(random, random.nextInt(400), 600, b);
+
+                RedBlackTree<Integer> result;
+                if (op == 0) {
+                    result = RedBlackTree.union(treeA, treeB);
+                    a.addAll(b);
+                } else if (op == 1) {
+                    result = RedBlackTree.intersection(treeA, treeB);
+                    a.retainAll(b);
+                } else {
+                    result = RedBlackTree.difference(treeA, treeB);
+                    a.removeAll(b);
+                }
+                assertValid(result);
+                assertEquals(new ArrayList<Integer>(a), toList(result));
+            }
+        }
+    }
+
+    @Test
+    public void testSetOperationsOnUnevenSizes() {
+        // Joins between trees of very different black heights, where a wrong carried height shows up
+        Random random = new Random(9);
+        for (int small : new int[] { 1, 3, 20, 200 }) {
+            for (int op = 0; op < 3; op++) {
+                TreeSet<Integer> a = new TreeSet<Integer>();
+                TreeSet<Integer> b = new TreeSet<Integer>();
+                RedBlackTree<Integer> treeA = randomSet(random, 20000, 40000, a);
+                RedBlackTree<Integer> treeB = randomSet(random, small, 40000, b);
+
+                RedBlackTree<Integer> result;
+                if (op == 0) {
+                    result = RedBlackTree.union(treeB, treeA);
+                    a.addAll(b);
+                } else if (op == 1) {
+                    result = RedBlackTree.intersection(treeA, treeB);
+                    a.retainAll(b);
+                } else {
+                    result = RedBlackTree.difference(treeA, treeB);
+                    a.removeAll(b);
+                }
+                assertValid(result);
+                assertEquals(new ArrayList<Integer>(a), toList(result));
+                assertEquals(a.size(), result.size());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSetOperations() {
+        Random random = new Random(8);
+        TreeSet<Integer> a = new TreeSet<Integer>();
+        TreeSet<Integer> b = new TreeSet<Integer>();
+        RedBlackTree<Integer> union = RedBlackTree.parallelUnion(randomSet(random, 50000, 100000, a),
+                randomSet(random, 50000, 100000, b));
+        TreeSet<Integer> expected = new TreeSet<Integer>(a);
+        expected.addAll(b);
+        assertValid(union);
+        assertEquals(new ArrayList<Integer>(expected), toList(union));
+
+        RedBlackTree<Integer> intersection = RedBlackTree.parallelIntersection(RedBlackTree.fromSorted(
+                new ArrayList<Integer>(a)), RedBlackTree.fromSorted(new ArrayList<Integer>(b)));
+        expected = new TreeSet<Integer>(a);
+        expected.retainAll(b);
+        assertValid(intersection);
+        assertEquals(new ArrayList<Integer>(expected), toList(intersection));
+
+        RedBlackTree<Integer> difference = RedBlackTree.parallelDifference(RedBlackTree.fromSorted(
+                new ArrayList<Integer>(a)), RedBlackTree.fromSorted(new ArrayList<Integer>(b)));
+        expected = new TreeSet<Integer>(a);
+        expected.removeAll(b);
+        assertValid(difference);
+        assertEquals(new ArrayList<Integer>(expected), toList(difference));
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        Path file = temp.newFile("ints.snapshot").toPath();
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++)
+            values.add(i * 3 - 5000);
+        RedBlackTree.fromSorted(values).writeSnapshot(file, KeyCodec.INTEGER);
+
+        RedBlackTree<Integer> loaded = RedBlackTree.readSnapshot(file, KeyCodec.INTEGER);
+        assertValid(loaded);
+        assertEquals(values, toList(loaded));
+
+        Path empty = temp.newFile("empty.snapshot").toPath();
+        new RedBlackTree<Integer>().writeSnapshot(empty, KeyCodec.INTEGER);
+        assertEquals(0, RedBlackTree.readSnapshot(empty, KeyCodec.INTEGER).size());
+    }
+
+    @Test
+    public void testSnapshotCodecs() throws IOException {
+        Path strings = temp.newFile("strings.snapshot").toPath();
+        RedBlackTree<String> words = new RedBlackTree<String>();
+        for (String word : Arrays.asList("pear", "apple", "\u00e9clair", "fig"))
+            words.insert(word);
+        words.writeSnapshot(strings, KeyCodec.STRING);
+        assertEquals(Arrays.asList("apple", "fig", "pear", "\u00e9clair"),
+                RedBlackTree.readSnapshot(strings, KeyCodec.STRING).stream().collect(Collectors.toList()));
+
+        Path people = temp.newFile("people.snapshot").toPath();
+        RedBlackTree<Person> persons = new RedBlackTree<Person>();
+        persons.insert(new Person("Ada", "Lovelace", 36));
+        persons.insert(new Person("Alan", "Turing", 41));
+        persons.writeSnapshot(people, KeyCodec.PERSON);
+        RedBlackTree<Person> loaded = RedBlackTree.readSnapshot(people, KeyCodec.PERSON);
+        assertEquals(2, loaded.size());
+        assertEquals("Turing", loaded.select(1).getSurname());
+        assertEquals(41, loaded.select(1).getAge());
+    }
+
+    @Test
+    public void testSnapshotRejectsCorruption() throws IOException {
+        Path file = temp.newFile("corrupt.snapshot").toPath();
+        RedBlackTree.fromSorted(Arrays.asList(1, 2, 3)).writeSnapshot(file, KeyCodec.INTEGER);
+
+        try {
+            RedBlackTree.readSnapshot(file, KeyCodec.STRING);
+            fail("read with the wrong codec");
+        } catch (IOException expected) {
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[20] ^= 1; // Inside the second key
+        Files.write(file, bytes);
+        try {
+            RedBlackTree.readSnapshot(file, KeyCodec.INTEGER);
+            fail("read a corrupt snapshot");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void testFreeze() {
+        FrozenTree<Integer> empty = new RedBlackTree<Integer>().freeze();
+        assertEquals(0, empty.size());
+        assertNull(empty.floor(1));
+        assertFalse(empty.contains(1));
+
+        for (int n = 1; n < 70; n++) {
+            RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+            TreeSet<Integer> expected = new TreeSet<Integer>();
+            for (int i = 0; i < n; i++) {
+                tree.insert(i * 3);
+                expected.add(i * 3);
+            }
+
+            FrozenIntTree frozen = (FrozenIntTree) tree.freeze();
+            assertEquals(n, frozen.size());
+            for (int probe = -2; probe <= n * 3 + 2; probe++) {
+                assertEquals(expected.contains(probe), frozen.contains(probe));
+                assertEquals(expected.floor(probe), frozen.floor(Integer.valueOf(probe)));
+                assertEquals(expected.ceiling(probe), frozen.ceiling(Integer.valueOf(probe)));
+                assertEquals(expected.floor(probe) == null ? -1 : expected.floor(probe), frozen.floor(probe, -1));
+            }
+        }
+
+        RedBlackTree<String> words = new RedBlackTree<String>();
+        for (String word : Arrays.asList("pear", "apple", "fig", "kiwi"))
+            words.insert(word);
+        FrozenTree<String> frozenWords = words.freeze();
+        assertTrue(frozenWords.contains("fig"));
+        assertFalse(frozenWords.contains("grape"));
+        assertEquals("fig", frozenWords.floor("grape"));
+        assertEquals("kiwi", frozenWords.ceiling("grape"));
+        assertNull(frozenWords.ceiling("quince"));
+    }
+
+    private static void collectColours(RedBlackTree<Integer>.Node node, Map<Integer, Boolean> colours) {
+        if (node == null)
+            return;
+        colours.put(node.value, node.nodeColourRed);
+        collectColours(node.left, colours);
+        collectColours(node.right, colours);
+    }
+
+    @Test
+    public void testListenerMirrorsTree() {
+        Map<Integer, Boolean> mirror = new HashMap<Integer, Boolean>();
+        int[] completed = new int[1];
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        tree.addListener(new RedBlackTreeListener<Integer>() {
+            @Override
+            public void inserted(Integer value) {
+                mirror.put(value, true);
+            }
+
+            @Override
+            public void removed(Integer value) {
+                mirror.remove(value);
+            }
+
+            @Override
+            public void recoloured(Integer value, boolean red) {
+                mirror.put(value, red);
+            }
+
+            @Override
+            public void cleared() {
+                mirror.clear();
+            }
+
+            @Override
+            public void operationCompleted() {
+                completed[0]++;
+            }
+        });
+
+        Random random = new Random(24);
+        int operations = 0;
+        for (int i = 0; i < 3000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                if (tree.remove(value))
+                    operations++;
+            } else if (!tree.contains(value)) {
+                tree.insert(value);
+                operations++;
+            }
+
+            Map<Integer, Boolean> actual = new HashMap<Integer, Boolean>();
+            collectColours(tree.root, actual);
+            assertEquals(actual, mirror);
+        }
+        assertEquals(operations, completed[0]);
+
+        tree.clear();
+        assertTrue(mirror.isEmpty());
+    }
+
+    @Test
+    public void testListenerReportsRotations() {
+        List<String> events = new ArrayList<String>();
+        RedBlackTreeListener<Object> recorder = new RedBlackTreeListener<Object>() {
+            @Override
+            public void rotatedLeft(Object value) {
+                events.add("left " + value);
+            }
+
+            @Override
+            public void rotatedRight(Object value) {
+                events.add("right " + value);
+            }
+
+            @Override
+            public void operationCompleted() {
+                events.add("done");
+            }
+        };
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        tree.addListener(recorder);
+
+        tree.insert(1);
+        tree.insert(2);
+        tree.insert(3); // Right-right case: 1 rotates left under 2
+        tree.insert(0);
+        assertEquals(Arrays.asList("done", "done", "left 1", "done", "done"), events);
+
+        tree.removeListener(recorder);
+        tree.insert(-1); // Left-left case, no longer reported
+        assertEquals(5, events.size());
+    }
+
+    private static void walk(RedBlackTree<Integer>.Node node, boolean pre, List<Integer> out) {
+        if (node == null)
+            return;
+        if (pre)
+            out.add(node.value);
+        walk(node.left, pre, out);
+        walk(node.right, pre, out);
+        if (!pre)
+            out.add(node.value);
+    }
+
+    @Test
+    public void testTraversalsWithConsumer() {
+        Random random = new Random(25);
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        RedBlackTree<Integer> tree = randomSet(random, 2000, 5000, expected);
+        for (int i = 0; i < 500; i++)
+            tree.remove(random.nextInt(5000));
+
+        List<Integer> inOrder = new ArrayList<Integer>();
+        tree.inOrderTraversal(inOrder::add);
+        assertEquals(toList(tree), inOrder);
+
+        List<Integer> preOrder = new ArrayList<Integer>();
+        List<Integer> expectedPre = new ArrayList<Integer>();
+        tree.preOrderTraversal(preOrder::add);
+        walk(tree.root, true, expectedPre);
+        assertEquals(expectedPre, preOrder);
+
+        List<Integer> postOrder = new ArrayList<Integer>();
+        List<Integer> expectedPost = new ArrayList<Integer>();
+        tree.postOrderTraversal(postOrder::add);
+        walk(tree.root, false, expectedPost);
+        assertEquals(expectedPost, postOrder);
+
+        tree.clear();
+        tree.postOrderTraversal(value -> fail("empty tree visited " + value));
+    }
+}
@@ -0,0 +1,304 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Red-Black tree split into key-range shards for multi-threaded ingest.
+ * Each shard is an independent RedBlackTree guarded by its own lock, so
+ * threads inserting into different ranges never contend. Shard boundaries
+ * come from a sample of the keys and can be recomputed from the stored
+ * keys with rebalance().
+ */
+public class ShardedRedBlackTree<T extends Comparable<T>> {
+
+    /** One key range: a tree, its lock, and whether a rebalance has replaced it. */
+    private static final class Shard<T extends Comparable<T>> {
+        final RedBlackTree<T> tree;
+        final ReentrantLock lock = new ReentrantLock();
+        boolean retired; // Guarded by lock; set once the keys have moved to a new layout
+
+        Shard(RedBlackTree<T> tree) {
+            this.tree = tree;
+        }
+    }
+
+    /** Immutable routing table: shard i holds keys in [splitters[i-1], splitters[i]). */
+    private static final class Layout<T extends Comparable<T>> {
+        final List<T> splitters;
+        final List<Shard<T>> shards;
+
+        Layout(List<T> splitters, List<Shard<T>> shards) {
+            this.splitters = splitters;
+            this.shards = shards;
+        }
+
+        Shard<T> shardFor(T value) {
+            return shards.get(indexFor(value));
+        }
+
+        int indexFor(T value) {
+            // Binary search for the number of splitters <= value
+            int lo = 0;
+            int hi = splitters.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (splitters.get(mid).compareTo(value) <= 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    private volatile Layout<T> layout;
+
+    /**
+     * @param splitters Ascending shard boundaries; n splitters give n + 1 shards
+     */
+    public ShardedRedBlackTree(List<? extends T> splitters) {
+        List<T> sorted = new ArrayList<T>(splitters);
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).compareTo(sorted.get(i - 1)) < 0)
+                throw new IllegalArgumentException("Splitters are not sorted at index " + i);
+        }
+
+        List<Shard<T>> shards = new ArrayList<Shard<T>>();
+        for (int i = 0; i <= sorted.size(); i++)
+            shards.add(new Shard<T>(new RedBlackTree<T>()));
+        layout = new Layout<T>(Collections.unmodifiableList(sorted), Collections.unmodifiableList(shards));
+    }
+
+    /** Picks shardCount - 1 boundaries at evenly spaced quantiles of the sample. */
+    public static <T extends Comparable<T>> ShardedRedBlackTree<T> fromSample(Collection<? extends T> sample,
+            int shardCount) {
+        if (shardCount < 1)
+            throw new IllegalArgumentException("shardCount must be positive: " + shardCount);
+
+        List<T> sorted = new ArrayList<T>(sample);
+        Collections.sort(sorted);
+        return new ShardedRedBlackTree<T>(quantiles(sorted, shardCount));
+    }
+
+    private static <T> List<T> quantiles(List<T> sorted, int shardCount) {
+        List<T> splitters = new ArrayList<T>();
+        if (sorted.isEmpty())
+            return splitters;
+
+        for (int i = 1; i < shardCount; i++)
+            splitters.add(sorted.get((int) ((long) i * sorted.size() / shardCount)));
+        return splitters;
+    }
+
+    /////////////// Operations //////////////////////////////////////
+    // Each operation locks the one shard that owns the key. If a rebalance
+    // retired that shard in the meantime, it retries against the new layout.
+
+    public void insert(T value) {
+        while (true) {
+            Shard<T> shard = layout.shardFor(value);
+            shard.lock.lock();
+            try {
+                if (!shard.retired) {
+                    shard.tree.insert(value);
+                    return;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    public boolean remove(T value) {
+        while (true) {
+            Shard<T> shard = layout.shardFor(value);
+            shard.lock.lock();
+            try {
+                if (!shard.retired)
+                    return shard.tree.remove(value);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    public boolean contains(T value) {
+        while (true) {
+            Shard<T> shard = layout.shardFor(value);
+            shard.lock.lock();
+            try {
+                if (!shard.retired)
+                    return shard.tree.contains(value);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /** @return The total number of values across all shards */
+    public int countNodes() {
+        int total = 0;
+        for (int size : shardSizes())
+            total += size;
+        return total;
+    }
+
+    /** @return The number of values in each shard, in key order */
+    public List<Integer> shardSizes() {
+        while (true) {
+            Layout<T> current = layout;
+            List<Integer> sizes = new ArrayList<Integer>();
+            for (Shard<T> shard : current.shards) {
+                shard.lock.lock();
+                try {
+                    if (shard.retired)
+                        break;
+                    sizes.add(shard.tree.size());
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            if (sizes.size() == current.shards.size())
+                return sizes;
+        }
+    }
+
+    public int shardCount() {
+        return layout.shards.size();
+    }
+
+    /**
+     * Visits every value in ascending order. Shards cover consecutive key
+     * ranges, so the merged order is simply each shard in turn; each shard is
+     * locked only while it is being visited. If a rebalance retires the next
+     * shard, the walk re-reads the layout and resumes after the last value
+     * it visited, so nothing is repeated or skipped.
+     */
+    public void forEach(Consumer<? super T> action) {
+        Layout<T> current = layout;
+        int index = 0;
+        T last = null; // Last value visited, and how many copies of it the tree held
+        int lastCopies = 0;
+        boolean resuming = false;
+
+        while (index < current.shards.size()) {
+            Shard<T> shard = current.shards.get(index);
+            shard.lock.lock();
+            try {
+                if (shard.retired) {
+                    current = layout;
+                    index = (last == null) ? 0 : current.indexFor(last);
+                    resuming = last != null;
+                    continue;
+                }
+
+                int skipCopies = lastCopies;
+                T visited = null;
+                for (T value : shard.tree) {
+                    if (resuming) {
+                        // All copies of last, and anything below it, are in this shard
+                        int cmp = value.compareTo(last);
+                        if (cmp < 0)
+                            continue;
+                        if (cmp == 0 && skipCopies > 0) {
+                            skipCopies--;
+                            continue;
+                        }
+                        resuming = false;
+                    }
+                    action.accept(value);
+                    visited = value;
+                }
+                resuming = false;
+
+                if (visited != null) {
+                    last = visited;
+                    lastCopies = shard.tree.countInRange(visited, visited);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+            index++;
+        }
+    }
+
+    /////////////// Rebalancing /////////////////////////////////////
+
+    /** Rebalances only if the largest shard holds more than maxSkew times the average. */
+    public boolean rebalanceIfSkewed(double maxSkew) {
+        List<Integer> sizes = shardSizes();
+        int total = 0;
+        int largest = 0;
+        for (int size : sizes) {
+            total += size;
+            largest = Math.max(largest, size);
+        }
+
+        double average = (double) total / sizes.size();
+        if (total == 0 || largest <= maxSkew * average)
+            return false;
+
+        rebalance();
+        return true;
+    }
+
+    /**
+     * Recomputes the boundaries from the stored keys so every shard holds an
+     * equal share, and rebuilds the shards in linear time with fromSorted.
+     * Writers to the old shards wait on their shard locks and then retry
+     * against the new layout.
+     */
+    public synchronized void rebalance() {
+        Layout<T> old = layout;
+        int shardCount = old.shards.size();
+
+        // Lock every shard in key order (the only place more than one is held)
+        for (Shard<T> shard : old.shards)
+            shard.lock.lock();
+        try {
+            List<T> all = new ArrayList<T>();
+            for (Shard<T> shard : old.shards) {
+                for (T value : shard.tree)
+                    all.add(value);
+            }
+
+            if (all.isEmpty())
+                return; // Nothing to base new boundaries on
+
+            List<T> splitters = quantiles(all, shardCount);
+            List<Shard<T>> shards = new ArrayList<Shard<T>>();
+            int from = 0;
+            for (int i = 0; i < shardCount; i++) {
+                int to = (i < splitters.size()) ? firstAtLeast(all, splitters.get(i), from) : all.size();
+                shards.add(new Shard<T>(RedBlackTree.fromSorted(all.subList(from, to))));
+                from = to;
+            }
+
+            layout = new Layout<T>(Collections.unmodifiableList(splitters), Collections.unmodifiableList(shards));
+            for (Shard<T> shard : old.shards)
+                shard.retired = true;
+        } finally {
+            for (Shard<T> shard : old.shards)
+                shard.lock.unlock();
+        }
+    }
+
+    /** @return The first index at or after from whose value is >= key */
+    private static <T extends Comparable<T>> int firstAtLeast(List<T> sorted, T key, int from) {
+        int lo = from;
+        int hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted.get(mid).compareTo(key) < 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,85 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ShardedRedBlackTreeTest {
+
+    @Test
+    public void testParallelInsert() throws InterruptedException {
+        List<Integer> sample = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++)
+            sample.add(i * 400);
+        final ShardedRedBlackTree<Integer> tree = ShardedRedBlackTree.fromSample(sample, 8);
+        assertEquals(8, tree.shardCount());
+
+        List<Thread> writers = new ArrayList<Thread>();
+        for (int w = 0; w < 4; w++) {
+            final int offset = w;
+            Thread writer = new Thread(() -> {
+                for (int i = offset; i < 40000; i += 4)
+                    tree.insert(i);
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers)
+            writer.join();
+
+        assertEquals(40000, tree.countNodes());
+        assertTrue(tree.contains(12345));
+        assertFalse(tree.contains(40000));
+
+        final List<Integer> ordered = new ArrayList<Integer>();
+        tree.forEach(ordered::add);
+        for (int i = 0; i < 40000; i++)
+            assertEquals(Integer.valueOf(i), ordered.get(i));
+    }
+
+    @Test
+    public void testRebalance() {
+        ShardedRedBlackTree<Integer> tree = new ShardedRedBlackTree<Integer>(Arrays.asList(10, 20, 30));
+        for (int i = 100; i < 500; i++)
+            tree.insert(i); // All land in the last shard
+        assertEquals(Arrays.asList(0, 0, 0, 400), tree.shardSizes());
+
+        assertTrue(tree.rebalanceIfSkewed(1.5));
+        assertEquals(Arrays.asList(100, 100, 100, 100), tree.shardSizes());
+        assertFalse(tree.rebalanceIfSkewed(1.5));
+
+        assertTrue(tree.remove(250));
+        tree.insert(5);
+        assertEquals(400, tree.countNodes());
+        assertTrue(tree.contains(5));
+    }
+
+    @Test
+    public void testForEachSurvivesRebalance() {
+        ShardedRedBlackTree<Integer> tree = new ShardedRedBlackTree<Integer>(Arrays.asList(10, 20, 1000));
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 400; i++) {
+            tree.insert(i / 2); // Two copies of each, mostly in the third shard
+            expected.add(i / 2);
+        }
+
+        // Rebalance partway through the walk, so the shards still to come are
+        // retired, then insert a value that only the new layout holds
+        final List<Integer> visited = new ArrayList<Integer>();
+        tree.forEach(value -> {
+            visited.add(value);
+            if (visited.size() == 20) {
+                tree.rebalance();
+                tree.insert(500);
+            }
+        });
+        expected.add(500);
+
+        assertEquals(Arrays.asList(100, 100, 100, 101), tree.shardSizes());
+        assertEquals(expected, visited);
+    }
+}
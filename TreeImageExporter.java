@@ -0,0 +1,273 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Renders a RedBlackTree to a grid of PNG tiles without a display, for
+ * looking at the shape of trees far too large for GraphPanel. Runs with
+ * java.awt.headless=true.
+ *
+ * The layout is the same as GraphPanel's: a node's column is its in-order
+ * rank and its row is its depth. Both follow from the subtree sizes, so
+ * nothing is laid out up front. Each tile walks down from the root, skipping
+ * subtrees whose rank range misses it, and draws only what it covers. Tiles
+ * are rendered in parallel on a fork-join pool, and each is written out and
+ * dropped as soon as it is drawn, so memory stays at one tile per worker
+ * whatever the size of the tree.
+ *
+ * The tree must not be modified while it is being exported.
+ *
+ * Usage: java -Djava.awt.headless=true TreeImageExporter snapshot int|string outputDir [tileSize]
+ */
+public class TreeImageExporter {
+    public static final int DEFAULT_X_SPACING = 100;
+    public static final int DEFAULT_Y_SPACING = 50;
+    public static final int DEFAULT_RADIUS = 30;
+    public static final int DEFAULT_TILE_SIZE = 1024;
+
+    private static final int MIN_LABEL_RADIUS = 8; // Smaller nodes are drawn without their value
+    private static final Color BACKGROUND = new Color(0xf0f0f0);
+
+    private final int xSpacing;
+    private final int ySpacing;
+    private final int radius;
+    private final int tileSize;
+
+    public TreeImageExporter() {
+        this(DEFAULT_X_SPACING, DEFAULT_Y_SPACING, DEFAULT_RADIUS, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * @param xSpacing Pixels between adjacent in-order ranks
+     * @param ySpacing Pixels between levels
+     * @param radius   Node radius in pixels
+     * @param tileSize Width and height of each tile in pixels
+     */
+    public TreeImageExporter(int xSpacing, int ySpacing, int radius, int tileSize) {
+        if (xSpacing < 1 || ySpacing < 1 || radius < 1 || tileSize < 1)
+            throw new IllegalArgumentException("Spacing, radius and tile size must be positive");
+        this.xSpacing = xSpacing;
+        this.ySpacing = ySpacing;
+        this.radius = radius;
+        this.tileSize = tileSize;
+    }
+
+    /** @return The width of the whole image, in pixels */
+    public long imageWidth(RedBlackTree<?> tree) {
+        return (tree.size() + 1L) * xSpacing;
+    }
+
+    /** @return The height of the whole image, in pixels */
+    public long imageHeight(RedBlackTree<?> tree) {
+        return (tree.height() + 2L) * ySpacing;
+    }
+
+    /**
+     * Writes the tree to directory as tile-ROW-COL.png, one file per tile,
+     * covering the whole image row by row.
+     *
+     * @return The number of tiles written
+     * @throws IOException if the directory cannot be created or a tile cannot be written
+     */
+    public <T extends Comparable<T>> int export(RedBlackTree<T> tree, Path directory, ForkJoinPool pool)
+            throws IOException {
+        Files.createDirectories(directory);
+        int columns = (int) ((imageWidth(tree) + tileSize - 1) / tileSize);
+        int rows = (int) ((imageHeight(tree) + tileSize - 1) / tileSize);
+
+        try {
+            pool.invoke(new TileTask<T>(tree, directory, columns, 0, rows * columns));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows * columns;
+    }
+
+    /** Renders tiles [from, to) in row-major order, halving the range until it is one tile. */
+    private final class TileTask<T extends Comparable<T>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RedBlackTree<T> tree;
+        private final Path directory;
+        private final int columns;
+        private final int from;
+        private final int to;
+
+        TileTask(RedBlackTree<T> tree, Path directory, int columns, int from, int to) {
+            this.tree = tree;
+            this.directory = directory;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask<T>(tree, directory, columns, from, middle),
+                        new TileTask<T>(tree, directory, columns, middle, to));
+                return;
+            }
+
+            int row = from / columns;
+            int column = from % columns;
+            BufferedImage tile = renderTile(tree, (long) column * tileSize, (long) row * tileSize);
+            try {
+                ImageIO.write(tile, "png", directory.resolve("tile-" + row + "-" + column + ".png").toFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** Draws the part of the image whose top left corner is at (left, top). */
+    <T extends Comparable<T>> BufferedImage renderTile(RedBlackTree<T> tree, long left, long top) {
+        BufferedImage tile = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, tileSize, tileSize);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setStroke(new BasicStroke(Math.max(1f, radius / 15f)));
+            g.setFont(new Font(Font.MONOSPACED, Font.BOLD, Math.max(MIN_LABEL_RADIUS, radius * 4 / 5)));
+
+            if (tree.root != null)
+                new TilePainter<T>(g, left, top).paint(tree.root, sizeOf(tree.root.left), 0);
+        } finally {
+            g.dispose();
+        }
+        return tile;
+    }
+
+    private static int sizeOf(RedBlackTree<?>.Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    /** One tile's walk of the tree. Positions are relative to the tile's corner. */
+    private final class TilePainter<T extends Comparable<T>> {
+        private final Graphics2D g;
+        private final long left;
+        private final long top;
+        private final FontMetrics metrics;
+        private final Line2D.Double line = new Line2D.Double();
+        private final Ellipse2D.Double circle = new Ellipse2D.Double();
+
+        TilePainter(Graphics2D g, long left, long top) {
+            this.g = g;
+            this.left = left;
+            this.top = top;
+            this.metrics = g.getFontMetrics();
+        }
+
+        private double x(long rank) {
+            return (rank + 1) * xSpacing - left;
+        }
+
+        private double y(int depth) {
+            return (depth + 1L) * ySpacing - top;
+        }
+
+        /**
+         * Draws the subtree rooted at node, whose in-order rank is rank. The
+         * subtree covers ranks rank - size(left) to rank + size(right), all at
+         * or below depth, so it is skipped when that band misses the tile.
+         * Edges are drawn from the parent's side, which is always visited
+         * when any part of the edge is inside the tile.
+         */
+        void paint(RedBlackTree<T>.Node node, long rank, int depth) {
+            double nodeX = x(rank);
+            double nodeY = y(depth);
+            if (x(rank + sizeOf(node.right)) + radius < 0 || x(rank - sizeOf(node.left)) - radius > tileSize
+                    || nodeY - radius > tileSize)
+                return;
+
+            if (node.left != null) {
+                long leftRank = rank - sizeOf(node.left.right) - 1;
+                drawEdge(nodeX, nodeY, x(leftRank), y(depth + 1));
+                paint(node.left, leftRank, depth + 1);
+            }
+            if (node.right != null) {
+                long rightRank = rank + sizeOf(node.right.left) + 1;
+                drawEdge(nodeX, nodeY, x(rightRank), y(depth + 1));
+                paint(node.right, rightRank, depth + 1);
+            }
+            drawNode(node, nodeX, nodeY); // After the edges, so it sits on top
+        }
+
+        private void drawEdge(double x1, double y1, double x2, double y2) {
+            line.setLine(x1, y1, x2, y2);
+            if (line.intersects(0, 0, tileSize, tileSize)) {
+                g.setColor(Color.darkGray);
+                g.draw(line);
+            }
+        }
+
+        private void drawNode(RedBlackTree<T>.Node node, double x, double y) {
+            if (x + radius < 0 || x - radius > tileSize || y + radius < 0)
+                return;
+
+            circle.setFrame(x - radius, y - radius, 2 * radius, 2 * radius);
+            g.setColor(node.nodeColourRed ? Color.red : Color.black);
+            g.fill(circle);
+
+            if (radius >= MIN_LABEL_RADIUS) {
+                String label = String.valueOf(node.value);
+                g.setColor(Color.WHITE);
+                g.drawString(label, (float) (x - metrics.stringWidth(label) / 2.0),
+                        (float) (y + (metrics.getAscent() - metrics.getDescent()) / 2.0));
+            }
+        }
+    }
+
+    /** Loads a snapshot written by RedBlackTree.writeSnapshot and exports it as tiles. */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: java -Djava.awt.headless=true TreeImageExporter"
+                    + " snapshot int|string outputDir [tileSize]");
+            System.exit(2);
+        }
+        System.setProperty("java.awt.headless", "true");
+
+        Path snapshot = Paths.get(args[0]);
+        Path directory = Paths.get(args[2]);
+        int tileSize = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_TILE_SIZE;
+        TreeImageExporter exporter = new TreeImageExporter(DEFAULT_X_SPACING, DEFAULT_Y_SPACING, DEFAULT_RADIUS,
+                tileSize);
+
+        long start = System.nanoTime();
+        int tiles;
+        switch (args[1]) {
+        case "int":
+            tiles = exporter.export(RedBlackTree.readSnapshot(snapshot, KeyCodec.INTEGER), directory,
+                    ForkJoinPool.commonPool());
+            break;
+        case "string":
+            tiles = exporter.export(RedBlackTree.readSnapshot(snapshot, KeyCodec.STRING), directory,
+                    ForkJoinPool.commonPool());
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown key type (expected int or string): " + args[1]);
+        }
+        System.out.printf("Wrote %d tiles to %s in %d ms%n", tiles, directory,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
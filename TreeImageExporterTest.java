@@ -0,0 +1,85 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.imageio.ImageIO;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TreeImageExporterTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @BeforeClass
+    public static void headless() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    private static RedBlackTree<Integer> tree(int size) {
+        RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+        for (int i = 0; i < size; i++)
+            tree.insert(i);
+        return tree;
+    }
+
+    @Test
+    public void testTilesCoverTheImage() throws IOException {
+        RedBlackTree<Integer> tree = tree(100);
+        TreeImageExporter exporter = new TreeImageExporter(20, 30, 8, 256);
+        Path directory = temp.getRoot().toPath().resolve("tiles");
+
+        // 101 x 20 = 2020 pixels wide, so 8 columns; (height + 2) x 30 fits in 2 rows
+        assertEquals(2020, exporter.imageWidth(tree));
+        assertEquals((tree.height() + 2) * 30, exporter.imageHeight(tree));
+        assertTrue(exporter.imageHeight(tree) > 256 && exporter.imageHeight(tree) <= 512);
+        assertEquals(8 * 2, exporter.export(tree, directory, new ForkJoinPool(4)));
+        assertEquals(16, directory.toFile().list().length);
+
+        BufferedImage corner = ImageIO.read(directory.resolve("tile-1-7.png").toFile());
+        assertEquals(256, corner.getWidth());
+        assertEquals(256, corner.getHeight());
+    }
+
+    @Test
+    public void testTilesMatchOneWholeImage() throws IOException {
+        RedBlackTree<Integer> tree = tree(200);
+        TreeImageExporter tiled = new TreeImageExporter(12, 24, 5, 100);
+        TreeImageExporter whole = new TreeImageExporter(12, 24, 5, 2500);
+        BufferedImage expected = whole.renderTile(tree, 0, 0);
+
+        File directory = temp.getRoot();
+        int tiles = tiled.export(tree, directory.toPath(), ForkJoinPool.commonPool());
+        int columns = (int) ((tiled.imageWidth(tree) + 99) / 100);
+        for (int i = 0; i < tiles; i++) {
+            int row = i / columns;
+            int column = i % columns;
+            BufferedImage tile = ImageIO.read(new File(directory, "tile-" + row + "-" + column + ".png"));
+            for (int y = 0; y < 100; y++)
+                for (int x = 0; x < 100; x++)
+                    assertEquals("pixel " + (column * 100 + x) + "," + (row * 100 + y),
+                            expected.getRGB(column * 100 + x, row * 100 + y), tile.getRGB(x, y));
+        }
+    }
+
+    @Test
+    public void testRootIsDrawnAtItsRank() {
+        RedBlackTree<Integer> tree = tree(7);
+        TreeImageExporter exporter = new TreeImageExporter(40, 40, 10, 400);
+        BufferedImage image = exporter.renderTile(tree, 0, 0);
+
+        // Rank r is at x = (r + 1) * 40 and depth 0 at y = 40; sample left of the label
+        int x = (tree.rank(tree.root.value) + 1) * 40;
+        assertEquals(Color.black.getRGB(), image.getRGB(x - 8, 40));
+        assertTrue(image.getRGB(5, 5) != Color.black.getRGB());
+    }
+}
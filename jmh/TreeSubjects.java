@@ -0,0 +1,163 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import benchmarks.Subject;
+
+/**
+ * The trees under benchmark, each behind benchmarks.Subject. Lives in the
+ * default package beside the trees, since benchmarks.TreeBenchmark cannot
+ * import them; TreeBenchmark loads this class by name.
+ */
+public class TreeSubjects implements Function<String, Subject> {
+
+    @Override
+    public Subject apply(String tree) {
+        switch (tree) {
+            case "BinarySearchTree":
+                return new BinarySearchTreeSubject();
+            case "RedBlackTree":
+                return new RedBlackTreeSubject();
+            case "BPlusTree":
+                return new BPlusTreeSubject();
+            case "TreeMap":
+                return new TreeMapSubject();
+            default:
+                throw new IllegalArgumentException("Unknown tree: " + tree);
+        }
+    }
+
+    private static final class BinarySearchTreeSubject implements Subject {
+        private final BinarySearchTree<Integer> tree = new BinarySearchTree<Integer>();
+
+        public void insertAll(Integer[] keys) {
+            for (Integer key : keys)
+                tree.insert(key);
+        }
+
+        public long lookupAll(Integer[] keys) {
+            long hits = 0;
+            for (Integer key : keys) {
+                if (tree.contains(key))
+                    hits++;
+            }
+            return hits;
+        }
+
+        /** BinarySearchTree has no iterator, so walk successors through the parent links. */
+        public long iterate() {
+            long sum = 0;
+            BinarySearchTree<Integer>.Node current = tree.root;
+            while (current != null && current.left != null)
+                current = current.left;
+            while (current != null) {
+                sum += current.value;
+                if (current.right != null) {
+                    current = current.right;
+                    while (current.left != null)
+                        current = current.left;
+                } else {
+                    BinarySearchTree<Integer>.Node child = current;
+                    current = current.parent;
+                    while (current != null && child == current.right) {
+                        child = current;
+                        current = current.parent;
+                    }
+                }
+            }
+            return sum;
+        }
+
+        public long countNodes() {
+            return tree.countNodes();
+        }
+    }
+
+    private static final class RedBlackTreeSubject implements Subject {
+        private final RedBlackTree<Integer> tree = new RedBlackTree<Integer>();
+
+        public void insertAll(Integer[] keys) {
+            for (Integer key : keys)
+                tree.insert(key);
+        }
+
+        public long lookupAll(Integer[] keys) {
+            long hits = 0;
+            for (Integer key : keys) {
+                if (tree.contains(key))
+                    hits++;
+            }
+            return hits;
+        }
+
+        public long iterate() {
+            long sum = 0;
+            for (Integer value : tree)
+                sum += value;
+            return sum;
+        }
+
+        public long countNodes() {
+            return tree.countNodes();
+        }
+    }
+
+    private static final class BPlusTreeSubject implements Subject {
+        private final BPlusTree<Integer> tree = new BPlusTree<Integer>();
+
+        public void insertAll(Integer[] keys) {
+            for (Integer key : keys)
+                tree.insert(key);
+        }
+
+        public long lookupAll(Integer[] keys) {
+            long hits = 0;
+            for (Integer key : keys) {
+                if (tree.contains(key))
+                    hits++;
+            }
+            return hits;
+        }
+
+        public long iterate() {
+            long sum = 0;
+            for (Integer value : tree)
+                sum += value;
+            return sum;
+        }
+
+        public long countNodes() {
+            return tree.countNodes();
+        }
+    }
+
+    private static final class TreeMapSubject implements Subject {
+        private final TreeMap<Integer, Integer> map = new TreeMap<Integer, Integer>();
+
+        public void insertAll(Integer[] keys) {
+            for (Integer key : keys)
+                map.put(key, key);
+        }
+
+        public long lookupAll(Integer[] keys) {
+            long hits = 0;
+            for (Integer key : keys) {
+                if (map.containsKey(key))
+                    hits++;
+            }
+            return hits;
+        }
+
+        public long iterate() {
+            long sum = 0;
+            for (Integer key : map.keySet())
+                sum += key;
+            return sum;
+        }
+
+        public long countNodes() {
+            return map.size();
+        }
+    }
+}
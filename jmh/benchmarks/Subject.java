@@ -0,0 +1,17 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+package benchmarks;
+
+/**
+ * The operations under test, implemented once per tree type by TreeSubjects
+ * in the default package.
+ */
+public interface Subject {
+    void insertAll(Integer[] keys);
+
+    long lookupAll(Integer[] keys);
+
+    long iterate();
+
+    long countNodes();
+}
@@ -0,0 +1,201 @@
+// Oisin Gibson - L00172671 - Updated: 17-10-2026
+
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks comparing BinarySearchTree, RedBlackTree, BPlusTree and
+ * java.util.TreeMap. Each tree is measured for insert, lookup, in-order
+ * iteration and countNodes over sorted, reverse-sorted, random and Zipfian
+ * key streams. Allocation comes from JMH's GC profiler, which the build
+ * enables: gc.alloc.rate.norm is the bytes allocated per operation.
+ *
+ * insert, lookup and iterate each cover the whole key set in one operation,
+ * so their scores are per tree of `size` keys; countNodes is a single call.
+ *
+ * JMH will not generate code for a benchmark in the default package, and a
+ * named package cannot import the trees from it, so this class reaches them
+ * through the Subject interface (see TreeSubjects).
+ *
+ * Usage: gradle jmh
+ *        gradle jmh -Pjmh.includes='TreeBenchmark.lookup'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TreeBenchmark {
+
+    public enum KeyOrder {
+        SORTED, REVERSE, RANDOM, ZIPFIAN
+    }
+
+    private static final double ZIPF_THETA = 0.99;
+
+    // Looked up by name once, so the measured calls are plain interface calls
+    private static final Function<String, Subject> SUBJECTS = loadSubjects();
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    @Param({ "SORTED", "REVERSE", "RANDOM", "ZIPFIAN" })
+    public KeyOrder order;
+
+    @Param({ "BinarySearchTree", "RedBlackTree", "BPlusTree", "TreeMap" })
+    public String tree;
+
+    private Integer[] keys;
+    private Integer[] probes;
+    private Subject built; // Already holds every key, for the read-only benchmarks
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = keys(order, size, new Random(size));
+        // TreeMap would merge repeated Zipfian keys while the other trees keep
+        // every copy, so every subject is built from the distinct keys only
+        if (order == KeyOrder.ZIPFIAN)
+            keys = distinct(keys);
+        // Lookups draw from the same distribution, in random order
+        probes = keys(order, size, new Random(~size));
+        shuffle(probes, new Random(size + 1L));
+
+        built = SUBJECTS.apply(tree);
+        built.insertAll(keys);
+    }
+
+    /** Builds a fresh tree from every key. */
+    @Benchmark
+    public Subject insert() {
+        Subject subject = SUBJECTS.apply(tree);
+        subject.insertAll(keys);
+        return subject;
+    }
+
+    /** Looks up size probes drawn from the same distribution as the keys. */
+    @Benchmark
+    public long lookup() {
+        return built.lookupAll(probes);
+    }
+
+    /** Visits every key in order. */
+    @Benchmark
+    public long iterate() {
+        return built.iterate();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long countNodes() {
+        return built.countNodes();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<String, Subject> loadSubjects() {
+        try {
+            return (Function<String, Subject>) Class.forName("TreeSubjects").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("TreeSubjects is missing from the jmh source set", e);
+        }
+    }
+
+    /////////////// Key streams /////////////////////////////////////
+
+    /** Boxes the keys up front so boxing is not part of any timing. */
+    static Integer[] keys(KeyOrder order, int size, Random random) {
+        Integer[] keys = new Integer[size];
+        switch (order) {
+            case SORTED:
+                for (int i = 0; i < size; i++)
+                    keys[i] = i;
+                break;
+            case REVERSE:
+                for (int i = 0; i < size; i++)
+                    keys[i] = size - 1 - i;
+                break;
+            case RANDOM:
+                for (int i = 0; i < size; i++)
+                    keys[i] = i;
+                shuffle(keys, random);
+                break;
+            default: // ZIPFIAN
+                ZipfianGenerator zipf = new ZipfianGenerator(size, ZIPF_THETA);
+                for (int i = 0; i < size; i++)
+                    keys[i] = zipf.next(random);
+                break;
+        }
+        return keys;
+    }
+
+    /** @return keys without repeats, in order of first appearance */
+    private static Integer[] distinct(Integer[] keys) {
+        return new LinkedHashSet<Integer>(Arrays.asList(keys)).toArray(new Integer[0]);
+    }
+
+    private static void shuffle(Integer[] keys, Random random) {
+        for (int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+    }
+
+    /**
+     * Zipfian ranks in [0, n) using the closed-form approximation from Gray et
+     * al., "Quickly Generating Billion-Record Synthetic Databases" (as used by
+     * YCSB). Rank 0 is the most popular key. Setup is O(n); each draw is O(1).
+     */
+    static final class ZipfianGenerator {
+        private final int n;
+        private final double theta;
+        private final double alpha;
+        private final double zetaN;
+        private final double eta;
+
+        ZipfianGenerator(int n, double theta) {
+            this.n = n;
+            this.theta = theta;
+            double zeta2 = zeta(2, theta);
+            this.zetaN = zeta(n, theta);
+            this.alpha = 1.0 / (1.0 - theta);
+            this.eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetaN);
+        }
+
+        private static double zeta(int n, double theta) {
+            double sum = 0;
+            for (int i = 1; i <= n; i++)
+                sum += 1 / Math.pow(i, theta);
+            return sum;
+        }
+
+        int next(Random random) {
+            double u = random.nextDouble();
+            double uz = u * zetaN;
+            if (uz < 1.0)
+                return 0;
+            if (uz < 1.0 + Math.pow(0.5, theta))
+                return Math.min(1, n - 1);
+            return (int) Math.min(n - 1, (long) (n * Math.pow(eta * u - eta + 1, alpha)));
+        }
+    }
+}